@@ -0,0 +1,42 @@
+package pl.ais.commons.domain.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar.
+ *
+ * <p>
+ *     Accepts the usual JMH command line options, and always attaches the {@link GCProfiler}, so each run reports
+ *     allocation rate ({@code gc.alloc.rate.norm} - bytes per operation) next to the throughput.
+ * </p>
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+        super();
+    }
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args JMH command line options
+     * @throws CommandLineOptionException if command line options are invalid
+     * @throws RunnerException if benchmarks fail to run
+     */
+    public static void main(final String[] args) throws CommandLineOptionException, RunnerException {
+        final Options options = new OptionsBuilder().parent(new CommandLineOptions(args))
+                                                    .addProfiler(GCProfiler.class)
+                                                    .build();
+        new Runner(options).run();
+    }
+
+}
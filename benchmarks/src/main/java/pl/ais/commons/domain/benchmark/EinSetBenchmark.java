@@ -0,0 +1,90 @@
+package pl.ais.commons.domain.benchmark;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pl.ais.commons.domain.ein.EinSet;
+import pl.ais.commons.domain.ein.EmployerIdentificationNumber;
+
+/**
+ * Compares lookups performed by {@link EinSet} and {@link HashSet} holding {@link EmployerIdentificationNumber}s.
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class EinSetBenchmark {
+
+    private EinSet einSet;
+
+    private Set<EmployerIdentificationNumber> hashSet;
+
+    private int next;
+
+    private String[] probes;
+
+    @Param("1000000")
+    private int size;
+
+    /**
+     * Fills both sets with the same random EINs, and prepares textual probes (half of them present in the sets).
+     */
+    @Setup
+    public void setUp() {
+        final Random random = new Random(size);
+        einSet = new EinSet(size);
+        hashSet = new HashSet<>(size * 2);
+        probes = new String[4096];
+        for (int index = 0; index < size; index++) {
+            final EmployerIdentificationNumber ein = EmployerIdentificationNumber.of(random.nextInt(1000000000));
+            einSet.add(ein);
+            hashSet.add(ein);
+            if (index < probes.length) {
+                probes[index] = ((index & 1) == 0) ? ein.toString()
+                    : EmployerIdentificationNumber.of(random.nextInt(1000000000)).toString();
+            }
+        }
+    }
+
+    private String nextProbe() {
+        next = (next + 1) & (probes.length - 1);
+        return probes[next];
+    }
+
+    /**
+     * @return {@code true} if EIN given as text is present in {@link EinSet}
+     */
+    @Benchmark
+    public boolean einSetContains() {
+        return einSet.contains(nextProbe());
+    }
+
+    /**
+     * @return {@code true} if EIN given as text (parsed into value object first) is present in {@link HashSet}
+     */
+    @Benchmark
+    public boolean hashSetContains() {
+        final String probe = nextProbe();
+        return hashSet.contains(new EmployerIdentificationNumber(probe.substring(0, 2), probe.substring(3)));
+    }
+
+}
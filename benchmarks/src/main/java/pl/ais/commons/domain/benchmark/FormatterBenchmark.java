@@ -0,0 +1,143 @@
+package pl.ais.commons.domain.benchmark;
+
+import java.text.ParseException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pl.ais.commons.domain.ein.EmployerIdentificationNumber;
+import pl.ais.commons.domain.ein.EmployerIdentificationNumberFormatter;
+import pl.ais.commons.domain.phone.PhoneNumber;
+import pl.ais.commons.domain.phone.PhoneNumberFormatter;
+import pl.ais.commons.domain.ssn.SocialSecurityNumber;
+import pl.ais.commons.domain.ssn.SocialSecurityNumberFactory;
+import pl.ais.commons.domain.ssn.SocialSecurityNumberFormatter;
+
+/**
+ * Measures parsing and printing performed by the SSN, EIN and phone number formatters.
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class FormatterBenchmark {
+
+    private EmployerIdentificationNumber ein;
+
+    private EmployerIdentificationNumberFormatter einFormatter;
+
+    private PhoneNumber phoneNumber;
+
+    private PhoneNumberFormatter phoneNumberFormatter;
+
+    private SocialSecurityNumber ssn;
+
+    private SocialSecurityNumberFormatter ssnFormatter;
+
+    /**
+     * Prepares the formatters and values being printed.
+     */
+    @Setup
+    public void setUp() {
+        final SocialSecurityNumberFactory factory = new SocialSecurityNumberFactory(new StubCryptographicService());
+        ssnFormatter = new SocialSecurityNumberFormatter(factory);
+        ssn = factory.createSocialSecurityNumber("987", "65", "4321");
+        einFormatter = EmployerIdentificationNumberFormatter.getInstance();
+        ein = new EmployerIdentificationNumber("12", "3456789");
+        phoneNumberFormatter = PhoneNumberFormatter.getInstance();
+        phoneNumber = new PhoneNumber("212", "555", "1234");
+    }
+
+    /**
+     * @return EIN parsed from the hyphenated form
+     * @throws ParseException never, the input is valid
+     */
+    @Benchmark
+    public EmployerIdentificationNumber parseEin() throws ParseException {
+        return einFormatter.parse("12-3456789", Locale.US);
+    }
+
+    /**
+     * @return EIN parsed from the plain, digits only form
+     * @throws ParseException never, the input is valid
+     */
+    @Benchmark
+    public EmployerIdentificationNumber parseEinDigitsOnly() throws ParseException {
+        return einFormatter.parse("123456789", Locale.US);
+    }
+
+    /**
+     * @return {@code null}, invalid EIN is parsed without raising the exception
+     */
+    @Benchmark
+    public EmployerIdentificationNumber tryParseInvalidEin() {
+        return einFormatter.tryParse("12-345678X");
+    }
+
+    /**
+     * @return phone number parsed from the parenthesized form
+     * @throws ParseException never, the input is valid
+     */
+    @Benchmark
+    public PhoneNumber parsePhoneNumber() throws ParseException {
+        return phoneNumberFormatter.parse("(212) 555-1234", Locale.US);
+    }
+
+    /**
+     * @return phone number parsed from the E.164 form
+     * @throws ParseException never, the input is valid
+     */
+    @Benchmark
+    public PhoneNumber parsePhoneNumberE164() throws ParseException {
+        return phoneNumberFormatter.parse("+12125551234", Locale.US);
+    }
+
+    /**
+     * @return SSN parsed from the hyphenated form
+     * @throws ParseException never, the input is valid
+     */
+    @Benchmark
+    public SocialSecurityNumber parseSsn() throws ParseException {
+        return ssnFormatter.parse("987-65-4321", Locale.US);
+    }
+
+    /**
+     * @return printed EIN
+     */
+    @Benchmark
+    public String printEin() {
+        return einFormatter.print(ein, Locale.US);
+    }
+
+    /**
+     * @return printed phone number
+     */
+    @Benchmark
+    public String printPhoneNumber() {
+        return phoneNumberFormatter.print(phoneNumber, Locale.US);
+    }
+
+    /**
+     * @return printed SSN (already decomposed)
+     */
+    @Benchmark
+    public String printSsn() {
+        return ssnFormatter.print(ssn, Locale.US);
+    }
+
+}
@@ -0,0 +1,97 @@
+package pl.ais.commons.domain.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pl.ais.commons.domain.ein.EmployerIdentificationNumber;
+import pl.ais.commons.domain.phone.PhoneNumber;
+import pl.ais.commons.domain.ssn.SocialSecurityNumber;
+import pl.ais.commons.domain.ssn.SocialSecurityNumberFactory;
+
+/**
+ * Measures Java serialization round-trips (serialize, then deserialize) of the value objects.
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private EmployerIdentificationNumber ein;
+
+    private PhoneNumber phoneNumber;
+
+    private SocialSecurityNumber ssn;
+
+    private static Object roundTrip(final Object object) throws IOException, ClassNotFoundException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(object);
+        }
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return input.readObject();
+        }
+    }
+
+    /**
+     * Prepares the value objects being serialized.
+     */
+    @Setup
+    public void setUp() {
+        ein = new EmployerIdentificationNumber("12", "3456789");
+        phoneNumber = new PhoneNumber("212", "555", "1234");
+        ssn = new SocialSecurityNumberFactory(new StubCryptographicService()).createSocialSecurityNumber("987", "65",
+            "4321");
+    }
+
+    /**
+     * @return deserialized EIN
+     * @throws IOException never, in memory streams are used
+     * @throws ClassNotFoundException never, all classes are on the class path
+     */
+    @Benchmark
+    public Object roundTripEin() throws IOException, ClassNotFoundException {
+        return roundTrip(ein);
+    }
+
+    /**
+     * @return deserialized phone number
+     * @throws IOException never, in memory streams are used
+     * @throws ClassNotFoundException never, all classes are on the class path
+     */
+    @Benchmark
+    public Object roundTripPhoneNumber() throws IOException, ClassNotFoundException {
+        return roundTrip(phoneNumber);
+    }
+
+    /**
+     * @return deserialized SSN
+     * @throws IOException never, in memory streams are used
+     * @throws ClassNotFoundException never, all classes are on the class path
+     */
+    @Benchmark
+    public Object roundTripSsn() throws IOException, ClassNotFoundException {
+        return roundTrip(ssn);
+    }
+
+}
@@ -0,0 +1,69 @@
+package pl.ais.commons.domain.benchmark;
+
+import java.io.Serializable;
+
+import pl.ais.commons.domain.security.CryptographicServiceSupport;
+import pl.ais.commons.domain.security.DecryptableValue;
+
+/**
+ * Local, pass-through {@link CryptographicServiceSupport} used by the benchmarks.
+ *
+ * <p>
+ *     Keeps the plain value (reversed, so it is not trivially the same instance), thus the cryptography itself adds
+ *     close to nothing to the measured cost, and benchmarks reflect the costs of this library only.
+ * </p>
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+public final class StubCryptographicService implements CryptographicServiceSupport<String> {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DecryptableValue<String> encrypt(final String value) {
+        return new StubDecryptableValue(new StringBuilder(value).reverse().toString());
+    }
+
+    /**
+     * {@link DecryptableValue} produced by {@link StubCryptographicService}.
+     */
+    static final class StubDecryptableValue implements DecryptableValue<String>, Serializable {
+
+        private static final long serialVersionUID = 2405624530176391716L;
+
+        private final String encrypted;
+
+        StubDecryptableValue(final String encrypted) {
+            this.encrypted = encrypted;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String decrypt() {
+            return new StringBuilder(encrypted).reverse().toString();
+        }
+
+        /**
+         * @see java.lang.Object#equals(java.lang.Object)
+         */
+        @Override
+        public boolean equals(final Object object) {
+            return (this == object) || ((object instanceof StubDecryptableValue)
+                && encrypted.equals(((StubDecryptableValue) object).encrypted));
+        }
+
+        /**
+         * @see java.lang.Object#hashCode()
+         */
+        @Override
+        public int hashCode() {
+            return encrypted.hashCode();
+        }
+
+    }
+
+}
@@ -0,0 +1,110 @@
+package pl.ais.commons.domain.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pl.ais.commons.domain.ein.EmployerIdentificationNumber;
+import pl.ais.commons.domain.phone.PhoneNumber;
+import pl.ais.commons.domain.security.DecryptableValue;
+import pl.ais.commons.domain.ssn.SocialSecurityNumber;
+import pl.ais.commons.domain.ssn.SocialSecurityNumberCache;
+import pl.ais.commons.domain.ssn.SocialSecurityNumberFactory;
+
+/**
+ * Measures construction of the value objects, and decomposition of the SSN.
+ *
+ * <p>
+ *     The components are kept in non-final fields, so JIT cannot treat them as constants.
+ * </p>
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ValueObjectBenchmark {
+
+    private String areaCode = "212";
+
+    private SocialSecurityNumberFactory cachingFactory;
+
+    private DecryptableValue<String> encryptedSsn;
+
+    private SocialSecurityNumber decomposedSsn;
+
+    private String exchangeCode = "555";
+
+    private String prefixCode = "12";
+
+    private String sequenceNumber = "3456789";
+
+    private String subscriberNumber = "1234";
+
+    /**
+     * Prepares encrypted SSN representation, and SSN which is already decomposed.
+     */
+    @Setup
+    public void setUp() {
+        final SocialSecurityNumberFactory factory = new SocialSecurityNumberFactory(new StubCryptographicService());
+        decomposedSsn = factory.createSocialSecurityNumber("987", "65", "4321");
+        decomposedSsn.getSerialNumber();
+        encryptedSsn = decomposedSsn.getRepresentation();
+        cachingFactory = SocialSecurityNumberFactory.builder(new StubCryptographicService())
+            .cache(new SocialSecurityNumberCache(1024, 1, TimeUnit.HOURS)).build();
+    }
+
+    /**
+     * @return newly constructed EIN
+     */
+    @Benchmark
+    public EmployerIdentificationNumber constructEin() {
+        return new EmployerIdentificationNumber(prefixCode, sequenceNumber);
+    }
+
+    /**
+     * @return newly constructed phone number
+     */
+    @Benchmark
+    public PhoneNumber constructPhoneNumber() {
+        return new PhoneNumber(areaCode, exchangeCode, subscriberNumber);
+    }
+
+    /**
+     * @return serial number of freshly created SSN (first access - decrypts and decomposes the value)
+     */
+    @Benchmark
+    public String decomposeSsnOnFirstAccess() {
+        return new SocialSecurityNumber(encryptedSsn).getSerialNumber();
+    }
+
+    /**
+     * @return serial number of freshly created SSN (first access - decrypted value is taken from the cache)
+     */
+    @Benchmark
+    public String decomposeSsnOnFirstAccessCached() {
+        return cachingFactory.restoreSocialSecurityNumber(encryptedSsn).getSerialNumber();
+    }
+
+    /**
+     * @return serial number of already decomposed SSN (later access)
+     */
+    @Benchmark
+    public String decomposeSsnOnLaterAccess() {
+        return decomposedSsn.getSerialNumber();
+    }
+
+}
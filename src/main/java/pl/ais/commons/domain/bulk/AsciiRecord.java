@@ -0,0 +1,173 @@
+package pl.ais.commons.domain.bulk;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import pl.ais.commons.domain.ein.EmployerIdentificationNumber;
+import pl.ais.commons.domain.ein.EmployerIdentificationNumberFormatter;
+import pl.ais.commons.domain.phone.PhoneNumber;
+import pl.ais.commons.domain.phone.PhoneNumberFormatter;
+import pl.ais.commons.domain.ssn.SocialSecurityNumber;
+import pl.ais.commons.domain.ssn.SocialSecurityNumberFactory;
+
+/**
+ * Single record (line) of the ASCII file, read by {@link AsciiRecordReader}.
+ *
+ * <p>
+ *     Record is a flyweight - the same instance is passed to {@link AsciiRecordHandler} for each line, pointing at the
+ *     bytes of the file, and is valid only until the handler returns. Fields are parsed directly from these bytes,
+ *     without decoding them into {@link String}s.
+ * </p>
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@NotThreadSafe
+public final class AsciiRecord {
+
+    private ByteBuffer buffer;
+
+    private int fieldCount;
+
+    private int[] fieldEnds = new int[16];
+
+    private int[] fieldStarts = new int[16];
+
+    private long lineNumber;
+
+    private final AsciiSlice slice = new AsciiSlice();
+
+    AsciiRecord() {
+        super();
+    }
+
+    private static boolean isDigits(final CharSequence text, final int start, final int end) {
+        boolean result = true;
+        for (int index = start; result && (index < end); index++) {
+            final char character = text.charAt(index);
+            result = (character >= '0') && (character <= '9');
+        }
+        return result;
+    }
+
+    /**
+     * Adds the field occupying given buffer range, trimming surrounding spaces and double quotes.
+     *
+     * @param start index of the first byte of the field (inclusive)
+     * @param end index of the last byte of the field (exclusive)
+     */
+    void addField(final int start, final int end) {
+        int first = start;
+        int last = end;
+        while ((first < last) && (' ' == buffer.get(first))) {
+            first++;
+        }
+        while ((last > first) && (' ' == buffer.get(last - 1))) {
+            last--;
+        }
+        if ((last - first >= 2) && ('"' == buffer.get(first)) && ('"' == buffer.get(last - 1))) {
+            first++;
+            last--;
+        }
+        if (fieldCount == fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, fieldCount << 1);
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount << 1);
+        }
+        fieldStarts[fieldCount] = first;
+        fieldEnds[fieldCount] = last;
+        fieldCount++;
+    }
+
+    /**
+     * Parses given field as EIN.
+     *
+     * @param column index of the field (0-based)
+     * @return packed EIN ({@link EmployerIdentificationNumber#asInt()}), or
+     *         {@link EmployerIdentificationNumberFormatter#INVALID} if the field is not a valid EIN representation
+     */
+    public int ein(final int column) {
+        final CharSequence field = field(column);
+        return EmployerIdentificationNumberFormatter.getInstance().tryParseAsInt(field, 0, field.length());
+    }
+
+    /**
+     * Provides the view of given field.
+     *
+     * <p>
+     *     Returned view is shared by all fields of all records - it is valid only until next invocation of this method.
+     * </p>
+     *
+     * @param column index of the field (0-based)
+     * @return the view of given field (empty, if the record has no such field)
+     */
+    @Nonnull
+    public CharSequence field(final int column) {
+        return (column < fieldCount) ? slice.reset(buffer, fieldStarts[column], fieldEnds[column])
+            : slice.reset(buffer, 0, 0);
+    }
+
+    /**
+     * @return number of fields of this record
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * @return number of the line (1-based) holding this record
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Parses given field as phone number.
+     *
+     * @param column index of the field (0-based)
+     * @return packed phone number ({@link PhoneNumber#toLong()}), or {@link PhoneNumberFormatter#INVALID} if the field
+     *         is not a valid phone number representation
+     */
+    public long phoneNumber(final int column) {
+        final CharSequence field = field(column);
+        return PhoneNumberFormatter.getInstance().tryParseAsLong(field, 0, field.length());
+    }
+
+    /**
+     * Points this record at given line.
+     *
+     * @param buffer the buffer
+     * @param number number of the line (1-based)
+     */
+    void reset(final ByteBuffer buffer, final long number) {
+        this.buffer = buffer;
+        this.lineNumber = number;
+        this.fieldCount = 0;
+    }
+
+    /**
+     * Parses given field as SSN ({@code 000-00-0000} or {@code 000000000}), and creates (encrypts) it.
+     *
+     * @param column index of the field (0-based)
+     * @param factory the factory which will be used for creating SSN
+     * @return newly created SSN, or {@code null} if the field is not a valid SSN representation, or it is rejected by
+     *         the factory validator
+     */
+    @CheckForNull
+    @SuppressWarnings("PMD.NullAssignment")
+    public SocialSecurityNumber ssn(final int column, @Nonnull final SocialSecurityNumberFactory factory) {
+        final CharSequence field = field(column);
+        String value = null;
+        if ((9 == field.length()) && isDigits(field, 0, 9)) {
+            value = field.toString();
+        } else if ((11 == field.length()) && isDigits(field, 0, 3) && ('-' == field.charAt(3))
+            && isDigits(field, 4, 6) && ('-' == field.charAt(6)) && isDigits(field, 7, 11)) {
+            value = new StringBuilder(9).append(field, 0, 3).append(field, 4, 6).append(field, 7, 11).toString();
+        }
+        return factory.tryCreateSocialSecurityNumber(value);
+    }
+
+}
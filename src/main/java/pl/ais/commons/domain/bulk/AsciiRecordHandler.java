@@ -0,0 +1,20 @@
+package pl.ais.commons.domain.bulk;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Callback receiving the records read by {@link AsciiRecordReader}.
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+public interface AsciiRecordHandler {
+
+    /**
+     * Handles single record.
+     *
+     * @param record the record (valid only until this method returns)
+     */
+    void handle(@Nonnull AsciiRecord record);
+
+}
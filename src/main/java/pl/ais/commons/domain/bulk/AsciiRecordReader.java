@@ -0,0 +1,144 @@
+package pl.ais.commons.domain.bulk;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Streaming reader of the large ASCII files (delimited or fixed-width), holding EIN, phone number or SSN columns.
+ *
+ * <p>
+ *     The file is memory-mapped in windows of configurable size, split into lines ({@code \n} or {@code \r\n}
+ *     terminated), and each non-empty line is passed to {@link AsciiRecordHandler} as {@link AsciiRecord} flyweight,
+ *     allowing the handler to parse the fields directly from the mapped bytes. Nothing is allocated per line, apart
+ *     from the objects created by the handler itself.
+ * </p>
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@Immutable
+public final class AsciiRecordReader {
+
+    /**
+     * Default size of the file window mapped at once.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 64 << 20;
+
+    private final RecordLayout layout;
+
+    private final int skippedLines;
+
+    private final int windowSize;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param layout layout of the records
+     */
+    public AsciiRecordReader(@Nonnull final RecordLayout layout) {
+        this(layout, 0, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param layout layout of the records
+     * @param skippedLines number of leading lines (headers) to skip
+     * @param windowSize size of the file window mapped at once (should exceed the length of the longest line)
+     */
+    public AsciiRecordReader(@Nonnull final RecordLayout layout, final int skippedLines, final int windowSize) {
+        super();
+
+        // Verify constructor requirements, ...
+        Preconditions.checkNotNull(layout, "Record layout cannot be null.");
+        Preconditions.checkArgument(skippedLines >= 0, "Number of skipped lines cannot be negative.");
+        Preconditions.checkArgument(windowSize > 0, "Window size should be positive.");
+
+        // ... and initialize this instance fields.
+        this.layout = layout;
+        this.skippedLines = skippedLines;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Reads all records from given channel.
+     *
+     * @param channel the channel to read from
+     * @param handler the handler of the records
+     * @return number of the records passed to the handler
+     * @throws IOException in case of problems with reading the channel, or if any line exceeds the window size
+     */
+    public long read(@Nonnull final FileChannel channel, @Nonnull final AsciiRecordHandler handler)
+        throws IOException {
+        final AsciiRecord record = new AsciiRecord();
+        final long size = channel.size();
+        long position = 0;
+        long lineNumber = 0;
+        long records = 0;
+        while (position < size) {
+            final int length = (int) Math.min(windowSize, size - position);
+            final boolean last = (position + length == size);
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+            // Process all complete lines within the window, ...
+            int lineStart = 0;
+            for (int index = 0; index < length; index++) {
+                if ('\n' == buffer.get(index)) {
+                    lineNumber++;
+                    records += readLine(record, buffer, lineStart, index, lineNumber, handler);
+                    lineStart = index + 1;
+                }
+            }
+
+            // ... including the last one, if it lacks the line terminator, ...
+            if (last && (lineStart < length)) {
+                lineNumber++;
+                records += readLine(record, buffer, lineStart, length, lineNumber, handler);
+                lineStart = length;
+            }
+            if (0 == lineStart) {
+                throw new IOException("Line " + (lineNumber + 1) + " exceeds the window size.");
+            }
+
+            // ... and continue with the window beginning right after the last complete line.
+            position += lineStart;
+        }
+        return records;
+    }
+
+    /**
+     * Reads all records from given file.
+     *
+     * @param file the file to read from
+     * @param handler the handler of the records
+     * @return number of the records passed to the handler
+     * @throws IOException in case of problems with reading the file, or if any line exceeds the window size
+     */
+    public long read(@Nonnull final Path file, @Nonnull final AsciiRecordHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(channel, handler);
+        }
+    }
+
+    private int readLine(final AsciiRecord record, final MappedByteBuffer buffer, final int start, final int end,
+        final long lineNumber, final AsciiRecordHandler handler) {
+        int result = 0;
+        final int lineEnd = ((end > start) && ('\r' == buffer.get(end - 1))) ? end - 1 : end;
+        if ((lineNumber > skippedLines) && (lineEnd > start)) {
+            record.reset(buffer, lineNumber);
+            layout.split(record, buffer, start, lineEnd);
+            handler.handle(record);
+            result = 1;
+        }
+        return result;
+    }
+
+}
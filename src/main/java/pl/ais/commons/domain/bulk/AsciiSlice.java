@@ -0,0 +1,75 @@
+package pl.ais.commons.domain.bulk;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reusable {@link CharSequence} view of the ASCII bytes held by {@link ByteBuffer} range.
+ *
+ * <p>
+ *     Allows passing the fields read from the file directly to the parsers accepting {@link CharSequence}, without
+ *     decoding them into {@link String}s.
+ * </p>
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+final class AsciiSlice implements CharSequence {
+
+    private ByteBuffer buffer;
+
+    private int end;
+
+    private int start;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public char charAt(final int index) {
+        return (char) (buffer.get(start + index) & 0xFF);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    /**
+     * Points this view at given buffer range.
+     *
+     * @param buffer the buffer
+     * @param start index of the first byte within the buffer (inclusive)
+     * @param end index of the last byte within the buffer (exclusive)
+     * @return this view
+     */
+    AsciiSlice reset(final ByteBuffer buffer, final int start, final int end) {
+        this.buffer = buffer;
+        this.start = start;
+        this.end = end;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String subSequence(final int from, final int to) {
+        final char[] characters = new char[to - from];
+        for (int index = from; index < to; index++) {
+            characters[index - from] = charAt(index);
+        }
+        return new String(characters);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return subSequence(0, length());
+    }
+
+}
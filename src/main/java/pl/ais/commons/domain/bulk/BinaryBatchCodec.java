@@ -0,0 +1,593 @@
+package pl.ais.commons.domain.bulk;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import pl.ais.commons.domain.ein.EmployerIdentificationNumber;
+import pl.ais.commons.domain.phone.PhoneNumber;
+import pl.ais.commons.domain.security.DecryptableValue;
+import pl.ais.commons.domain.ssn.BlindIndex;
+import pl.ais.commons.domain.ssn.SocialSecurityNumber;
+import pl.ais.commons.domain.ssn.SocialSecurityNumberFactory;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Binary codec of the EIN, phone number and SSN batches.
+ *
+ * <p>
+ *     Each batch starts with {@value #HEADER_SIZE}-byte header (type tag, flags, number of values, and length of the
+ *     payload in bytes), followed by the payload. All numbers are big-endian. Payload consists of:
+ * </p>
+ * <ul>
+ *     <li>{@value #EIN_WIDTH} bytes per EIN ({@link EmployerIdentificationNumber#asInt()}),</li>
+ *     <li>{@value #PHONE_NUMBER_WIDTH} bytes per phone number ({@link PhoneNumber#toLong()}, phone number constructed
+ *     without any components is written as {@code 0xFFFFFFFFFF}),</li>
+ *     <li>4-byte length followed by the bytes of {@link SocialSecurityNumber#getRepresentation()} per SSN, and - if
+ *     any SSN within the batch has {@link SocialSecurityNumber#getBlindIndex() blind index} (which is marked by the
+ *     header flags) - 4-byte length followed by the bytes of the blind index ({@code 0} length for SSNs having
+ *     none).</li>
+ * </ul>
+ * <p>
+ *     EINs and phone numbers may be delta-encoded instead, each value being written as zig-zag encoded variable-length
+ *     difference from the preceding one, which makes the payload of sorted batches several times smaller.
+ * </p>
+ * <p>
+ *     Serial number projection of the SSN ({@link SocialSecurityNumber#toMaskedString()}) is cleartext, thus it is
+ *     never transferred, and decoded SSNs are printed fully masked.
+ * </p>
+ * <p>
+ *     Batches are decoded from any {@link ByteBuffer}, including the memory-mapped file regions, without copying, and
+ *     decoding advances the buffer position past the batch, thus the batches may be concatenated. Because batches
+ *     usually come from other services, decoding verifies the header against the bytes actually available (before
+ *     allocating anything sized by it), verifies the payload size against the bytes actually consumed, and verifies
+ *     the range of each decoded value, rejecting corrupted batches with {@link IllegalArgumentException}.
+ * </p>
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@Immutable
+public final class BinaryBatchCodec {
+
+    /**
+     * Number of bytes taken by single EIN within fixed-width batch.
+     */
+    public static final int EIN_WIDTH = 4;
+
+    /**
+     * Default maximal payload size of the batch read by {@link #readBatch(ReadableByteChannel)}.
+     */
+    public static final int DEFAULT_MAX_PAYLOAD_SIZE = 1 << 28;
+
+    /**
+     * Number of bytes taken by the batch header.
+     */
+    public static final int HEADER_SIZE = 10;
+
+    /**
+     * Number of bytes taken by single phone number within fixed-width batch.
+     */
+    public static final int PHONE_NUMBER_WIDTH = 5;
+
+    private static final byte BLIND_INDEXED = 2;
+
+    private static final byte DELTA_ENCODED = 1;
+
+    private static final byte EIN_TAG = 'E';
+
+    private static final long PHONE_NUMBER_MASK = 0xFFFFFFFFFFL;
+
+    private static final byte PHONE_NUMBER_TAG = 'P';
+
+    private static final byte SSN_TAG = 'S';
+
+    /**
+     * Number of bytes taken by the length preceding each SSN representation.
+     */
+    private static final int SSN_LENGTH_WIDTH = 4;
+
+    private static final long UNDEFINED_PHONE_NUMBER = -1L;
+
+    private final RepresentationMarshaller marshaller;
+
+    /**
+     * Constructs new instance.
+     *
+     * <p>
+     *     There is no default marshaller on purpose: the batches usually come from other services, and decoding SSN
+     *     representations from them using Java serialization would deserialize untrusted input.
+     * </p>
+     *
+     * @param marshaller marshaller of SSN representations, provided by the cryptographic service in use
+     */
+    public BinaryBatchCodec(@Nonnull final RepresentationMarshaller marshaller) {
+        super();
+
+        // Verify constructor requirements, ...
+        Preconditions.checkNotNull(marshaller, "Marshaller cannot be null.");
+
+        // ... and initialize this instance fields.
+        this.marshaller = marshaller;
+    }
+
+    private static ByteBuffer allocate(final byte tag, final byte flags, final int count, final long payloadSize) {
+        Preconditions.checkArgument(payloadSize <= Integer.MAX_VALUE - HEADER_SIZE,
+            "Batch payload size: %s exceeds the limit: %s.", payloadSize, Integer.MAX_VALUE - HEADER_SIZE);
+        final ByteBuffer target = ByteBuffer.allocate(HEADER_SIZE + (int) payloadSize);
+        target.put(tag).put(flags).putInt(count).putInt((int) payloadSize);
+        return target;
+    }
+
+    private static byte[] getBytes(final ByteBuffer payload) {
+        final int length = (payload.remaining() < SSN_LENGTH_WIDTH) ? -1 : payload.getInt();
+        if ((length < 0) || (length > payload.remaining())) {
+            throw new IllegalArgumentException("Batch payload holds truncated or malformed SSN.");
+        }
+        final byte[] result = new byte[length];
+        payload.get(result);
+        return result;
+    }
+
+    private static long getVarLong(final ByteBuffer source) {
+        long encoded = 0;
+        int shift = 0;
+        byte current;
+        do {
+            if (!source.hasRemaining() || (shift > 63)) {
+                throw new IllegalArgumentException(
+                    "Batch payload holds truncated or malformed variable-length number.");
+            }
+            current = source.get();
+            encoded |= (long) (current & 0x7F) << shift;
+            shift += 7;
+        } while (current < 0);
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+    private static void putVarLong(final ByteBuffer target, final long value) {
+        long encoded = (value << 1) ^ (value >> 63);
+        while (0 != (encoded & ~0x7FL)) {
+            target.put((byte) ((encoded & 0x7F) | 0x80));
+            encoded >>>= 7;
+        }
+        target.put((byte) encoded);
+    }
+
+    /**
+     * Reads single batch, having at most {@link #DEFAULT_MAX_PAYLOAD_SIZE} bytes of payload, from given channel.
+     *
+     * @param channel the channel to read from
+     * @return buffer holding the batch, ready to be decoded
+     * @throws IOException in case of problems with reading the channel, if it ends before the batch is complete, or
+     *         if batch header is corrupted
+     */
+    public static ByteBuffer readBatch(@Nonnull final ReadableByteChannel channel) throws IOException {
+        return readBatch(channel, DEFAULT_MAX_PAYLOAD_SIZE);
+    }
+
+    /**
+     * Reads single batch from given channel.
+     *
+     * @param channel the channel to read from
+     * @param maxPayloadSize maximal payload size of the batch, in bytes
+     * @return buffer holding the batch, ready to be decoded
+     * @throws IOException in case of problems with reading the channel, if it ends before the batch is complete, or
+     *         if batch header is corrupted (or declares payload larger than allowed)
+     */
+    public static ByteBuffer readBatch(@Nonnull final ReadableByteChannel channel, final int maxPayloadSize)
+        throws IOException {
+
+        // Verify method requirements, ...
+        Preconditions.checkArgument((maxPayloadSize >= 0) && (maxPayloadSize <= Integer.MAX_VALUE - HEADER_SIZE),
+            "Maximal payload size should be between 0 and %s.", Integer.MAX_VALUE - HEADER_SIZE);
+
+        // ... read and verify the header, ...
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(channel, header);
+        final int count = header.getInt(2);
+        final int payloadSize = header.getInt(HEADER_SIZE - 4);
+        if ((count < 0) || (payloadSize < 0)) {
+            throw new IOException("Batch count and payload size cannot be negative.");
+        }
+        if (count > payloadSize) {
+            throw new IOException("Batch payload is too small for " + count + " values.");
+        }
+        if (payloadSize > maxPayloadSize) {
+            throw new IOException("Batch payload size: " + payloadSize + " exceeds the limit: " + maxPayloadSize + ".");
+        }
+
+        // ... and read the payload.
+        final ByteBuffer batch = ByteBuffer.allocate(HEADER_SIZE + payloadSize);
+        header.flip();
+        batch.put(header);
+        readFully(channel, batch);
+        batch.flip();
+        return batch;
+    }
+
+    private static void readFully(final ReadableByteChannel channel, final ByteBuffer target) throws IOException {
+        while (target.hasRemaining()) {
+            if (channel.read(target) < 0) {
+                throw new EOFException("Channel ended before the batch was complete.");
+            }
+        }
+    }
+
+    /**
+     * Reads and verifies the batch header, and provides the batch payload, advancing the source position past it.
+     *
+     * @param source the buffer holding the batch
+     * @param tag expected type tag of the batch
+     * @param width minimal number of bytes taken by single value within fixed-width payload
+     * @return the batch being decoded
+     */
+    private static Batch readHeader(final ByteBuffer source, final byte tag, final int width) {
+        if (source.remaining() < HEADER_SIZE) {
+            throw new IllegalArgumentException("Batch header is truncated.");
+        }
+        final byte actualTag = source.get();
+        if (tag != actualTag) {
+            throw new IllegalArgumentException("Expected batch of type '" + (char) tag + "', but found '"
+                + (char) actualTag + "'.");
+        }
+        final byte flags = source.get();
+        final boolean delta = 0 != (flags & DELTA_ENCODED);
+        final int count = source.getInt();
+        final int payloadSize = source.getInt();
+        if ((count < 0) || (payloadSize < 0)) {
+            throw new IllegalArgumentException("Batch count and payload size cannot be negative.");
+        }
+        if (payloadSize > source.remaining()) {
+            throw new IllegalArgumentException("Batch payload is truncated.");
+        }
+        if ((long) count * (delta ? 1 : width) > payloadSize) {
+            throw new IllegalArgumentException("Batch payload is too small for " + count + " values.");
+        }
+        final ByteBuffer payload = source.slice();
+        payload.limit(payloadSize);
+        source.position(source.position() + payloadSize);
+        return new Batch(flags, count, payload);
+    }
+
+    private static int varLongSize(final long value) {
+        long encoded = (value << 1) ^ (value >> 63);
+        int size = 1;
+        while (0 != (encoded >>>= 7)) {
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Writes given batch to the channel.
+     *
+     * @param batch buffer holding the batch (its remaining bytes are written)
+     * @param channel the channel to write to
+     * @throws IOException in case of problems with writing to the channel
+     */
+    public static void writeBatch(@Nonnull final ByteBuffer batch, @Nonnull final WritableByteChannel channel)
+        throws IOException {
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+    }
+
+    /**
+     * Decodes EINs batch.
+     *
+     * @param source the buffer holding the batch
+     * @return decoded EINs
+     */
+    public List<EmployerIdentificationNumber> decodeEins(@Nonnull final ByteBuffer source) {
+        return decodeEins(source, false);
+    }
+
+    /**
+     * Decodes EINs batch.
+     *
+     * @param source the buffer holding the batch
+     * @param canonical determines if canonical EINs ({@link EmployerIdentificationNumber#canonical(int)}) should be
+     *        provided
+     * @return decoded EINs
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    public List<EmployerIdentificationNumber> decodeEins(@Nonnull final ByteBuffer source, final boolean canonical) {
+        final int[] values = decodeEinsAsInts(source);
+        final List<EmployerIdentificationNumber> result = new ArrayList<>(values.length);
+        for (final int value : values) {
+            result.add(canonical ? EmployerIdentificationNumber.canonical(value)
+                : EmployerIdentificationNumber.of(value));
+        }
+        return result;
+    }
+
+    /**
+     * Decodes EINs batch, without creating any value objects.
+     *
+     * @param source the buffer holding the batch
+     * @return decoded EINs, packed ({@link EmployerIdentificationNumber#asInt()})
+     * @throws IllegalArgumentException if the batch is corrupted
+     */
+    public int[] decodeEinsAsInts(@Nonnull final ByteBuffer source) {
+        final Batch batch = readHeader(source, EIN_TAG, EIN_WIDTH);
+        final int[] result = new int[batch.count];
+        long previous = 0;
+        for (int index = 0; index < result.length; index++) {
+            previous = batch.delta ? previous + getVarLong(batch.payload) : batch.payload.getInt();
+            if ((previous < 0) || (previous > EmployerIdentificationNumber.MAX_VALUE)) {
+                throw new IllegalArgumentException("Decoded value: '" + previous + "' is not a valid EIN.");
+            }
+            result[index] = (int) previous;
+        }
+        batch.finish();
+        return result;
+    }
+
+    /**
+     * Decodes phone numbers batch.
+     *
+     * @param source the buffer holding the batch
+     * @return decoded phone numbers
+     */
+    public List<PhoneNumber> decodePhoneNumbers(@Nonnull final ByteBuffer source) {
+        return decodePhoneNumbers(source, false);
+    }
+
+    /**
+     * Decodes phone numbers batch.
+     *
+     * @param source the buffer holding the batch
+     * @param canonical determines if canonical phone numbers ({@link PhoneNumber#canonical(long)}) should be provided
+     * @return decoded phone numbers
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    public List<PhoneNumber> decodePhoneNumbers(@Nonnull final ByteBuffer source, final boolean canonical) {
+        final long[] values = decodePhoneNumbersAsLongs(source);
+        final List<PhoneNumber> result = new ArrayList<>(values.length);
+        for (final long value : values) {
+            PhoneNumber phoneNumber;
+            if (UNDEFINED_PHONE_NUMBER == value) {
+                phoneNumber = canonical ? PhoneNumber.canonical(new PhoneNumber()) : new PhoneNumber();
+            } else {
+                phoneNumber = canonical ? PhoneNumber.canonical(value) : PhoneNumber.of(value);
+            }
+            result.add(phoneNumber);
+        }
+        return result;
+    }
+
+    /**
+     * Decodes phone numbers batch, without creating any value objects.
+     *
+     * @param source the buffer holding the batch
+     * @return decoded phone numbers, packed ({@link PhoneNumber#toLong()}, {@code -1} for the phone numbers
+     *         constructed without any components)
+     * @throws IllegalArgumentException if the batch is corrupted
+     */
+    public long[] decodePhoneNumbersAsLongs(@Nonnull final ByteBuffer source) {
+        final Batch batch = readHeader(source, PHONE_NUMBER_TAG, PHONE_NUMBER_WIDTH);
+        final ByteBuffer payload = batch.payload;
+        final long[] result = new long[batch.count];
+        long previous = 0;
+        for (int index = 0; index < result.length; index++) {
+            if (batch.delta) {
+                previous += getVarLong(payload);
+            } else {
+                final long value = ((long) (payload.get() & 0xFF) << 32) | (payload.getInt() & 0xFFFFFFFFL);
+                previous = (PHONE_NUMBER_MASK == value) ? UNDEFINED_PHONE_NUMBER : value;
+            }
+            if ((previous < UNDEFINED_PHONE_NUMBER) || (previous > PhoneNumber.MAX_VALUE)) {
+                throw new IllegalArgumentException("Decoded value: '" + previous + "' is not a valid phone number.");
+            }
+            result[index] = previous;
+        }
+        batch.finish();
+        return result;
+    }
+
+    /**
+     * Decodes SSNs batch.
+     *
+     * @param source the buffer holding the batch
+     * @param factory the factory which will be used for restoring decoded SSNs (along with its cache of decrypted
+     *        SSNs)
+     * @return decoded SSNs, along with their blind indexes (if transferred), but without serial number projections
+     * @throws IllegalArgumentException if the batch is corrupted
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    public List<SocialSecurityNumber> decodeSocialSecurityNumbers(@Nonnull final ByteBuffer source,
+        @Nonnull final SocialSecurityNumberFactory factory) {
+        final Batch batch = readHeader(source, SSN_TAG, SSN_LENGTH_WIDTH);
+        final ByteBuffer payload = batch.payload;
+        final List<SocialSecurityNumber> result = new ArrayList<>(batch.count);
+        final boolean blindIndexed = 0 != (batch.flags & BLIND_INDEXED);
+        for (int index = 0; index < batch.count; index++) {
+            final DecryptableValue<String> representation = marshaller.unmarshal(getBytes(payload));
+            BlindIndex blindIndex = null;
+            if (blindIndexed) {
+                final byte[] digest = getBytes(payload);
+                blindIndex = (0 == digest.length) ? null : BlindIndex.of(digest);
+            }
+            result.add(factory.restoreSocialSecurityNumber(representation, blindIndex));
+        }
+        batch.finish();
+        return result;
+    }
+
+    /**
+     * Encodes EINs batch.
+     *
+     * @param values EINs, packed ({@link EmployerIdentificationNumber#asInt()})
+     * @param delta determines if EINs should be delta-encoded
+     * @return buffer holding the batch, ready to be written
+     * @throws IllegalArgumentException if any value is not a valid EIN, or the batch is too large
+     */
+    public ByteBuffer encodeEins(@Nonnull final int[] values, final boolean delta) {
+        long payloadSize = delta ? 0 : (long) values.length * EIN_WIDTH;
+        long previous = 0;
+        for (final int value : values) {
+            if ((value < 0) || (value > EmployerIdentificationNumber.MAX_VALUE)) {
+                throw new IllegalArgumentException("Provided value: '" + value + "' is not a valid EIN.");
+            }
+            if (delta) {
+                payloadSize += varLongSize(value - previous);
+                previous = value;
+            }
+        }
+        final ByteBuffer target = allocate(EIN_TAG, delta ? DELTA_ENCODED : 0, values.length, payloadSize);
+        if (delta) {
+            previous = 0;
+            for (final int value : values) {
+                putVarLong(target, value - previous);
+                previous = value;
+            }
+        } else {
+            target.asIntBuffer().put(values);
+            target.position(target.limit());
+        }
+        target.flip();
+        return target;
+    }
+
+    /**
+     * Encodes EINs batch.
+     *
+     * @param eins the EINs
+     * @param delta determines if EINs should be delta-encoded
+     * @return buffer holding the batch, ready to be written
+     */
+    public ByteBuffer encodeEins(@Nonnull final List<EmployerIdentificationNumber> eins, final boolean delta) {
+        final int[] values = new int[eins.size()];
+        for (int index = 0; index < values.length; index++) {
+            values[index] = eins.get(index).asInt();
+        }
+        return encodeEins(values, delta);
+    }
+
+    /**
+     * Encodes phone numbers batch.
+     *
+     * @param values phone numbers, packed ({@link PhoneNumber#toLong()})
+     * @param delta determines if phone numbers should be delta-encoded
+     * @return buffer holding the batch, ready to be written
+     * @throws IllegalArgumentException if any value is not a valid phone number, or the batch is too large
+     */
+    public ByteBuffer encodePhoneNumbers(@Nonnull final long[] values, final boolean delta) {
+        long payloadSize = delta ? 0 : (long) values.length * PHONE_NUMBER_WIDTH;
+        long previous = 0;
+        for (final long value : values) {
+            if ((value < UNDEFINED_PHONE_NUMBER) || (value > PhoneNumber.MAX_VALUE)) {
+                throw new IllegalArgumentException("Provided value: '" + value + "' is not a valid phone number.");
+            }
+            if (delta) {
+                payloadSize += varLongSize(value - previous);
+                previous = value;
+            }
+        }
+        final ByteBuffer target = allocate(PHONE_NUMBER_TAG, delta ? DELTA_ENCODED : 0, values.length, payloadSize);
+        previous = 0;
+        for (final long value : values) {
+            if (delta) {
+                putVarLong(target, value - previous);
+                previous = value;
+            } else {
+                final long masked = value & PHONE_NUMBER_MASK;
+                target.put((byte) (masked >>> 32)).putInt((int) masked);
+            }
+        }
+        target.flip();
+        return target;
+    }
+
+    /**
+     * Encodes phone numbers batch.
+     *
+     * @param phoneNumbers the phone numbers
+     * @param delta determines if phone numbers should be delta-encoded
+     * @return buffer holding the batch, ready to be written
+     */
+    public ByteBuffer encodePhoneNumbers(@Nonnull final List<PhoneNumber> phoneNumbers, final boolean delta) {
+        final long[] values = new long[phoneNumbers.size()];
+        for (int index = 0; index < values.length; index++) {
+            values[index] = phoneNumbers.get(index).toLong();
+        }
+        return encodePhoneNumbers(values, delta);
+    }
+
+    /**
+     * Encodes SSNs batch.
+     *
+     * @param ssns the SSNs
+     * @return buffer holding the batch (including blind indexes of the SSNs, but not their serial number
+     *         projections), ready to be written
+     */
+    public ByteBuffer encodeSocialSecurityNumbers(@Nonnull final List<SocialSecurityNumber> ssns) {
+        final byte[][] representations = new byte[ssns.size()][];
+        final byte[][] digests = new byte[ssns.size()][];
+        long payloadSize = 0;
+        long blindIndexesSize = 0;
+        for (int index = 0; index < representations.length; index++) {
+            final SocialSecurityNumber ssn = ssns.get(index);
+            final BlindIndex blindIndex = ssn.getBlindIndex();
+            representations[index] = marshaller.marshal(ssn.getRepresentation());
+            digests[index] = (null == blindIndex) ? new byte[0] : blindIndex.toByteArray();
+            payloadSize += SSN_LENGTH_WIDTH + representations[index].length;
+            blindIndexesSize += digests[index].length;
+        }
+        final boolean blindIndexed = blindIndexesSize > 0;
+        if (blindIndexed) {
+            payloadSize += (long) representations.length * SSN_LENGTH_WIDTH + blindIndexesSize;
+        }
+        final ByteBuffer target = allocate(SSN_TAG, blindIndexed ? BLIND_INDEXED : 0, representations.length,
+            payloadSize);
+        for (int index = 0; index < representations.length; index++) {
+            target.putInt(representations[index].length).put(representations[index]);
+            if (blindIndexed) {
+                target.putInt(digests[index].length).put(digests[index]);
+            }
+        }
+        target.flip();
+        return target;
+    }
+
+    /**
+     * Batch being decoded: its verified header, and the payload.
+     */
+    private static final class Batch {
+
+        private final int count;
+
+        private final boolean delta;
+
+        private final byte flags;
+
+        private final ByteBuffer payload;
+
+        Batch(final byte flags, final int count, final ByteBuffer payload) {
+            this.flags = flags;
+            this.delta = 0 != (flags & DELTA_ENCODED);
+            this.count = count;
+            this.payload = payload;
+        }
+
+        /**
+         * Verifies if the whole payload was consumed by decoding.
+         */
+        void finish() {
+            if (payload.hasRemaining()) {
+                throw new IllegalArgumentException("Batch payload size doesn't match its content.");
+            }
+        }
+
+    }
+
+}
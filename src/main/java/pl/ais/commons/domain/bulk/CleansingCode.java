@@ -0,0 +1,48 @@
+package pl.ais.commons.domain.bulk;
+
+/**
+ * Outcome of cleansing single raw identifier value, reported per row by {@link CleansingResult}.
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+public enum CleansingCode {
+
+    /**
+     * Value is valid, and it is the first occurrence of the identifier within the input.
+     */
+    VALID,
+
+    /**
+     * Value is valid, but the identifier occurred already in one of the preceding rows.
+     */
+    DUPLICATE,
+
+    /**
+     * Value is {@code null}, empty or consists of whitespace only.
+     */
+    MISSING,
+
+    /**
+     * Value is not a valid representation of the identifier.
+     */
+    MALFORMED;
+
+    private static final CleansingCode[] CODES = values();
+
+    /**
+     * @param ordinal ordinal of the code
+     * @return code having given ordinal
+     */
+    static CleansingCode forOrdinal(final byte ordinal) {
+        return CODES[ordinal];
+    }
+
+    /**
+     * @return {@code true} if rows having this code hold normalized identifier, {@code false} otherwise
+     */
+    public boolean isValid() {
+        return (VALID == this) || (DUPLICATE == this);
+    }
+
+}
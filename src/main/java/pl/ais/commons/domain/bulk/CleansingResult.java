@@ -0,0 +1,118 @@
+package pl.ais.commons.domain.bulk;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Result of cleansing raw identifier values in bulk by {@link IdentifierCleanser}.
+ *
+ * <p>
+ *     Holds normalized, packed identifier ({@link pl.ais.commons.domain.ein.EmployerIdentificationNumber#asInt()} or
+ *     {@link pl.ais.commons.domain.phone.PhoneNumber#toLong()}) and {@link CleansingCode} of each input row, along with
+ *     the summary statistics and distinct identifiers found.
+ * </p>
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@Immutable
+public final class CleansingResult {
+
+    /**
+     * Value reported by {@link #getValue(int)} for rows not holding valid identifier.
+     */
+    public static final long INVALID = -1L;
+
+    private final byte[] codes;
+
+    private final int[] counts;
+
+    private final long[] distinctValues;
+
+    private final long[] values;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param values packed identifier of each row ({@link #INVALID} for invalid rows)
+     * @param codes ordinal of {@link CleansingCode} of each row
+     * @param counts number of rows having each {@link CleansingCode}, indexed by its ordinal
+     * @param distinctValues distinct packed identifiers, in ascending order
+     */
+    CleansingResult(final long[] values, final byte[] codes, final int[] counts, final long[] distinctValues) {
+        super();
+        this.values = values;
+        this.codes = codes;
+        this.counts = counts;
+        this.distinctValues = distinctValues;
+    }
+
+    /**
+     * @param row index of the input row
+     * @return cleansing outcome of given row
+     */
+    @Nonnull
+    public CleansingCode getCode(final int row) {
+        return CleansingCode.forOrdinal(codes[row]);
+    }
+
+    /**
+     * @param code the cleansing outcome
+     * @return number of rows having given cleansing outcome
+     */
+    public int getCount(@Nonnull final CleansingCode code) {
+        return counts[code.ordinal()];
+    }
+
+    /**
+     * @return distinct identifiers found in the input (packed), in ascending order
+     */
+    public long[] getDistinctValues() {
+        return distinctValues.clone();
+    }
+
+    /**
+     * @return number of rows holding repeated occurrence of valid identifier
+     */
+    public int getDuplicateCount() {
+        return getCount(CleansingCode.DUPLICATE);
+    }
+
+    /**
+     * @return number of rows not holding valid identifier (either missing or malformed)
+     */
+    public int getInvalidCount() {
+        return getCount(CleansingCode.MISSING) + getCount(CleansingCode.MALFORMED);
+    }
+
+    /**
+     * @return number of rows holding first occurrence of valid identifier (equal to the number of distinct
+     *         identifiers)
+     */
+    public int getValidCount() {
+        return getCount(CleansingCode.VALID);
+    }
+
+    /**
+     * @param row index of the input row
+     * @return normalized, packed identifier held by given row, or {@link #INVALID} if the row is not valid
+     */
+    public long getValue(final int row) {
+        return values[row];
+    }
+
+    /**
+     * @return number of rows in this result
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * @return normalized, packed identifier of each row ({@link #INVALID} for invalid rows)
+     */
+    public long[] toLongArray() {
+        return values.clone();
+    }
+
+}
@@ -0,0 +1,311 @@
+package pl.ais.commons.domain.bulk;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import pl.ais.commons.domain.ein.EmployerIdentificationNumberFormatter;
+import pl.ais.commons.domain.phone.PhoneNumberFormatter;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Cleanses large amount of raw identifier values (EINs or phone numbers) in parallel, using fork-join.
+ *
+ * <p>
+ *     Input rows are split recursively into ranges of at most {@code threshold} rows, each range being parsed by
+ *     separate fork-join task into disjoint part of the result arrays, and counting the outcomes in its own counters
+ *     (summed when the tasks are joined), so the tasks never share any mutable state. Each valid row is then keyed by
+ *     its packed identifier and its index, and the keys are sorted in parallel, which makes the repeated occurrences of
+ *     the same identifier adjacent, and allows marking them as {@link CleansingCode#DUPLICATE} in single pass.
+ * </p>
+ * <p>
+ *     Values are trimmed before parsing, values consisting of whitespace only are reported as
+ *     {@link CleansingCode#MISSING}. Parsing is delegated to the formatter given when creating the cleanser, so the
+ *     strict EIN formatter rejects EINs having prefix not assigned by the IRS, and the parse failures are reported to
+ *     {@link pl.ais.commons.domain.metrics.Instrumentation}.
+ * </p>
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@Immutable
+public final class IdentifierCleanser {
+
+    /**
+     * Default maximal number of rows parsed by single fork-join task.
+     */
+    public static final int DEFAULT_THRESHOLD = 4096;
+
+    private static final int ROW_BITS = 29;
+
+    /**
+     * Maximal number of rows which may be cleansed at once.
+     */
+    public static final int MAX_ROWS = 1 << ROW_BITS;
+
+    /**
+     * Key of the row not holding valid identifier, sorted after keys of all the valid rows.
+     */
+    private static final long ABSENT = Long.MAX_VALUE;
+
+    private static final int CODE_COUNT = CleansingCode.values().length;
+
+    private static final long ROW_MASK = MAX_ROWS - 1;
+
+    private final RangeParser parser;
+
+    private final ForkJoinPool pool;
+
+    private final int threshold;
+
+    private IdentifierCleanser(final RangeParser parser, final ForkJoinPool pool, final int threshold) {
+        super();
+
+        // Verify constructor requirements, ...
+        Preconditions.checkNotNull(pool, "Fork-join pool cannot be null.");
+        Preconditions.checkArgument(threshold > 0, "Threshold should be positive.");
+
+        // ... and initialize this instance fields.
+        this.parser = parser;
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Creates cleanser of the EINs, running in the common fork-join pool.
+     *
+     * @param formatter the formatter which will be used for parsing EINs
+     * @return newly created cleanser
+     */
+    public static IdentifierCleanser forEins(@Nonnull final EmployerIdentificationNumberFormatter formatter) {
+        return forEins(formatter, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Creates cleanser of the EINs.
+     *
+     * @param formatter the formatter which will be used for parsing EINs
+     * @param pool the fork-join pool which will be used for cleansing
+     * @param threshold maximal number of rows parsed by single fork-join task
+     * @return newly created cleanser
+     */
+    public static IdentifierCleanser forEins(@Nonnull final EmployerIdentificationNumberFormatter formatter,
+        @Nonnull final ForkJoinPool pool, final int threshold) {
+        Preconditions.checkNotNull(formatter, "Formatter cannot be null.");
+        return new IdentifierCleanser(formatter::tryParseAsInt, pool, threshold);
+    }
+
+    /**
+     * Creates cleanser of the phone numbers, running in the common fork-join pool.
+     *
+     * @param formatter the formatter which will be used for parsing phone numbers
+     * @return newly created cleanser
+     */
+    public static IdentifierCleanser forPhoneNumbers(@Nonnull final PhoneNumberFormatter formatter) {
+        return forPhoneNumbers(formatter, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Creates cleanser of the phone numbers.
+     *
+     * @param formatter the formatter which will be used for parsing phone numbers
+     * @param pool the fork-join pool which will be used for cleansing
+     * @param threshold maximal number of rows parsed by single fork-join task
+     * @return newly created cleanser
+     */
+    public static IdentifierCleanser forPhoneNumbers(@Nonnull final PhoneNumberFormatter formatter,
+        @Nonnull final ForkJoinPool pool, final int threshold) {
+        Preconditions.checkNotNull(formatter, "Formatter cannot be null.");
+        return new IdentifierCleanser(formatter::tryParseAsLong, pool, threshold);
+    }
+
+    /**
+     * Marks repeated occurrences of the identifiers as duplicates, and adjusts the counters accordingly.
+     *
+     * @param keys sorted keys of the rows
+     * @param codes ordinal of {@link CleansingCode} of each row
+     * @param counts number of rows having each {@link CleansingCode}
+     * @return distinct identifiers, in ascending order
+     */
+    private static long[] markDuplicates(final long[] keys, final byte[] codes, final int[] counts) {
+        final int validCount = counts[CleansingCode.VALID.ordinal()];
+        final long[] distinctValues = new long[validCount];
+        int distinctCount = 0;
+        long previous = CleansingResult.INVALID;
+        for (int index = 0; index < validCount; index++) {
+            final long value = keys[index] >>> ROW_BITS;
+            if (value == previous) {
+                codes[(int) (keys[index] & ROW_MASK)] = (byte) CleansingCode.DUPLICATE.ordinal();
+            } else {
+                distinctValues[distinctCount++] = value;
+                previous = value;
+            }
+        }
+        counts[CleansingCode.VALID.ordinal()] = distinctCount;
+        counts[CleansingCode.DUPLICATE.ordinal()] = validCount - distinctCount;
+        return Arrays.copyOf(distinctValues, distinctCount);
+    }
+
+    /**
+     * Cleanses given raw values.
+     *
+     * @param rows the raw values (may contain {@code null}s)
+     * @return cleansing result, holding outcome of each row
+     */
+    public CleansingResult cleanse(@Nonnull final CharSequence[] rows) {
+
+        // Verify method requirements, ...
+        Preconditions.checkNotNull(rows, "Rows cannot be null.");
+        Preconditions.checkArgument(rows.length <= MAX_ROWS, "At most %s rows may be cleansed at once.", MAX_ROWS);
+
+        // ... and cleanse the rows within the pool (so the parallel sort runs there too).
+        return pool.invoke(new CleansingTask(rows));
+    }
+
+    /**
+     * Cleanses given raw values.
+     *
+     * @param rows the raw values (may contain {@code null}s)
+     * @return cleansing result, holding outcome of each row (in the collection iteration order)
+     */
+    public CleansingResult cleanse(@Nonnull final Collection<? extends CharSequence> rows) {
+        Preconditions.checkNotNull(rows, "Rows cannot be null.");
+        return cleanse(rows.toArray(new CharSequence[rows.size()]));
+    }
+
+    /**
+     * Cleanses given raw values.
+     *
+     * @param rows the raw values (may contain {@code null}s)
+     * @return cleansing result, holding outcome of each row (in the stream encounter order)
+     */
+    public CleansingResult cleanse(@Nonnull final Stream<? extends CharSequence> rows) {
+        Preconditions.checkNotNull(rows, "Rows cannot be null.");
+        return cleanse(rows.toArray(CharSequence[]::new));
+    }
+
+    /**
+     * Parses the text range into packed identifier.
+     */
+    @FunctionalInterface
+    private interface RangeParser {
+
+        long parse(CharSequence text, int start, int end);
+
+    }
+
+    /**
+     * Cleanses all the rows: parses them, and marks the duplicates.
+     */
+    private final class CleansingTask extends RecursiveTask<CleansingResult> {
+
+        private static final long serialVersionUID = 1815311093411626052L;
+
+        private final transient CharSequence[] rows;
+
+        CleansingTask(final CharSequence[] rows) {
+            super();
+            this.rows = rows;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected CleansingResult compute() {
+            final long[] values = new long[rows.length];
+            final byte[] codes = new byte[rows.length];
+            final long[] keys = new long[rows.length];
+            final int[] counts = new ParsingTask(rows, values, codes, keys, 0, rows.length).compute();
+            Arrays.parallelSort(keys);
+            final long[] distinctValues = markDuplicates(keys, codes, counts);
+            return new CleansingResult(values, codes, counts, distinctValues);
+        }
+
+    }
+
+    /**
+     * Parses the range of rows, splitting it recursively until it has at most {@link #threshold} rows.
+     */
+    private final class ParsingTask extends RecursiveTask<int[]> {
+
+        private static final long serialVersionUID = -6262424290935567016L;
+
+        private final transient byte[] codes;
+
+        private final int end;
+
+        private final transient long[] keys;
+
+        private final transient CharSequence[] rows;
+
+        private final int start;
+
+        private final transient long[] values;
+
+        ParsingTask(final CharSequence[] rows, final long[] values, final byte[] codes, final long[] keys,
+            final int start, final int end) {
+            super();
+            this.rows = rows;
+            this.values = values;
+            this.codes = codes;
+            this.keys = keys;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected int[] compute() {
+            int[] result;
+            if (end - start <= threshold) {
+                result = new int[CODE_COUNT];
+                for (int row = start; row < end; row++) {
+                    result[parse(row).ordinal()]++;
+                }
+            } else {
+                final int middle = (start + end) >>> 1;
+                final ParsingTask left = new ParsingTask(rows, values, codes, keys, start, middle);
+                left.fork();
+                result = new ParsingTask(rows, values, codes, keys, middle, end).compute();
+                final int[] leftCounts = left.join();
+                for (int index = 0; index < CODE_COUNT; index++) {
+                    result[index] += leftCounts[index];
+                }
+            }
+            return result;
+        }
+
+        private CleansingCode parse(final int row) {
+            final CharSequence text = rows[row];
+            int first = 0;
+            int last = (null == text) ? 0 : text.length();
+            while ((first < last) && (text.charAt(first) <= ' ')) {
+                first++;
+            }
+            while ((first < last) && (text.charAt(last - 1) <= ' ')) {
+                last--;
+            }
+            long value = CleansingResult.INVALID;
+            CleansingCode result = CleansingCode.MISSING;
+            if (first < last) {
+                value = parser.parse(text, first, last);
+                result = (CleansingResult.INVALID == value) ? CleansingCode.MALFORMED : CleansingCode.VALID;
+            }
+            values[row] = value;
+            codes[row] = (byte) result.ordinal();
+            keys[row] = (CleansingCode.VALID == result) ? (value << ROW_BITS) | row : ABSENT;
+            return result;
+        }
+
+    }
+
+}
@@ -0,0 +1,115 @@
+package pl.ais.commons.domain.bulk;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Describes how single line (record) of the ASCII file is split into the fields.
+ *
+ * <p>
+ *     Two layouts are supported: delimited (like CSV, but without quoting - fields may be enclosed in double quotes,
+ *     but cannot contain the delimiter), and fixed-width. In both cases the fields are trimmed of the surrounding
+ *     spaces.
+ * </p>
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@Immutable
+public abstract class RecordLayout {
+
+    RecordLayout() {
+        super();
+    }
+
+    /**
+     * Creates layout of the records having fields separated by given delimiter.
+     *
+     * @param delimiter the delimiter (ASCII character)
+     * @return layout of the records having fields separated by given delimiter
+     */
+    public static RecordLayout delimited(final char delimiter) {
+        Preconditions.checkArgument(delimiter < 0x80, "Delimiter should be ASCII character.");
+        return new Delimited((byte) delimiter);
+    }
+
+    /**
+     * Creates layout of the records having fields of given widths.
+     *
+     * @param widths widths of the consecutive fields
+     * @return layout of the records having fields of given widths
+     */
+    public static RecordLayout fixedWidth(@Nonnull final int... widths) {
+        Preconditions.checkArgument(widths.length > 0, "At least one field width is required.");
+        for (final int width : widths) {
+            Preconditions.checkArgument(width > 0, "Field width should be positive.");
+        }
+        return new FixedWidth(Arrays.copyOf(widths, widths.length));
+    }
+
+    /**
+     * Splits given buffer range (single line) into the fields, adding them to the record.
+     *
+     * @param record the record
+     * @param buffer the buffer
+     * @param start index of the first byte of the line (inclusive)
+     * @param end index of the last byte of the line (exclusive)
+     */
+    abstract void split(AsciiRecord record, ByteBuffer buffer, int start, int end);
+
+    /**
+     * Layout of the records having fields separated by the delimiter.
+     */
+    private static final class Delimited extends RecordLayout {
+
+        private final byte delimiter;
+
+        Delimited(final byte delimiter) {
+            super();
+            this.delimiter = delimiter;
+        }
+
+        @Override
+        void split(final AsciiRecord record, final ByteBuffer buffer, final int start, final int end) {
+            int fieldStart = start;
+            for (int index = start; index < end; index++) {
+                if (delimiter == buffer.get(index)) {
+                    record.addField(fieldStart, index);
+                    fieldStart = index + 1;
+                }
+            }
+            record.addField(fieldStart, end);
+        }
+
+    }
+
+    /**
+     * Layout of the records having fields of fixed widths.
+     */
+    private static final class FixedWidth extends RecordLayout {
+
+        private final int[] widths;
+
+        FixedWidth(final int[] widths) {
+            super();
+            this.widths = widths;
+        }
+
+        @Override
+        void split(final AsciiRecord record, final ByteBuffer buffer, final int start, final int end) {
+            int fieldStart = start;
+            for (final int width : widths) {
+                final int fieldEnd = Math.min(fieldStart + width, end);
+                record.addField(fieldStart, fieldEnd);
+                fieldStart = fieldEnd;
+            }
+        }
+
+    }
+
+}
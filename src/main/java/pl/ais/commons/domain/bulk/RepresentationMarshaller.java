@@ -0,0 +1,37 @@
+package pl.ais.commons.domain.bulk;
+
+import javax.annotation.Nonnull;
+
+import pl.ais.commons.domain.security.DecryptableValue;
+
+/**
+ * Converts the encrypted representation of {@link pl.ais.commons.domain.ssn.SocialSecurityNumber} to opaque bytes
+ * and back, for {@link BinaryBatchCodec}.
+ *
+ * <p>
+ *     Implementations are expected to be provided by the cryptographic service in use, which knows the binary form of
+ *     its {@link DecryptableValue} (such as the cipher text), thus avoiding the overhead (and the risks, when the
+ *     bytes come from untrusted source) of Java serialization. Implementations should reject bytes which are not a
+ *     valid representation by raising {@link IllegalArgumentException}.
+ * </p>
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+public interface RepresentationMarshaller {
+
+    /**
+     * @param representation the encrypted representation
+     * @return bytes of given representation
+     */
+    @Nonnull
+    byte[] marshal(@Nonnull DecryptableValue<String> representation);
+
+    /**
+     * @param bytes bytes of the encrypted representation
+     * @return the encrypted representation
+     */
+    @Nonnull
+    DecryptableValue<String> unmarshal(@Nonnull byte[] bytes);
+
+}
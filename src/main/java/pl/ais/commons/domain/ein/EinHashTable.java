@@ -0,0 +1,264 @@
+package pl.ais.commons.domain.ein;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Base of the open addressing hash tables keyed by packed EIN ({@link EmployerIdentificationNumber#asInt()}).
+ *
+ * <p>
+ *     Keys are kept in single {@code int} array, using linear probing, and backward shift deletion (thus no tombstones
+ *     are needed). Subclasses keep the values (if any) in the parallel array(s), indexed by the key slot, allocating
+ *     them in their own constructors (having {@link #capacity()} slots), as this constructor doesn't call any
+ *     overridable methods.
+ * </p>
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+abstract class EinHashTable {
+
+    /**
+     * Marks free slot - no packed EIN is negative.
+     */
+    private static final int FREE = -1;
+
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private static final int MINIMUM_CAPACITY = 8;
+
+    private int[] keys;
+
+    private int mask;
+
+    private int size;
+
+    private int threshold;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param expectedSize expected number of keys
+     */
+    EinHashTable(final int expectedSize) {
+        super();
+        Preconditions.checkArgument(expectedSize >= 0, "Expected size cannot be negative.");
+        final long required = (long) Math.ceil(expectedSize / LOAD_FACTOR);
+        int capacity = MINIMUM_CAPACITY;
+        while ((capacity < required) && (capacity < MAXIMUM_CAPACITY)) {
+            capacity <<= 1;
+        }
+        allocateKeys(capacity);
+    }
+
+    private static int hash(final int key) {
+        final int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Scans given text as packed EIN.
+     *
+     * @param ein EIN representation ({@code 00-0000000} or {@code 000000000})
+     * @return packed EIN, or {@code -1} if given text is not a valid EIN representation
+     */
+    static int keyOf(@Nonnull final CharSequence ein) {
+        return EinScanner.scan(ein, 0, ein.length());
+    }
+
+    /**
+     * Scans given text as packed EIN, requiring it to be valid.
+     *
+     * @param ein EIN representation ({@code 00-0000000} or {@code 000000000})
+     * @return packed EIN
+     * @throws IllegalArgumentException if given text is not a valid EIN representation
+     */
+    static int requireKey(@Nonnull final CharSequence ein) {
+        final int key = keyOf(ein);
+        if (EinScanner.INVALID == key) {
+            throw new IllegalArgumentException("Provided value: '" + ein + "' is not a valid EIN representation.");
+        }
+        return key;
+    }
+
+    /**
+     * Verifies if given value may be used as the key.
+     *
+     * @param key packed EIN
+     * @return given key
+     * @throws IllegalArgumentException if given key is not a valid packed EIN
+     */
+    static int requireKey(final int key) {
+        if ((key < 0) || (key > EmployerIdentificationNumber.MAX_VALUE)) {
+            throw new IllegalArgumentException("Provided value: '" + key + "' is not a valid packed EIN.");
+        }
+        return key;
+    }
+
+    private void allocateKeys(final int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, FREE);
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Allocates the value arrays having given capacity, replacing the current ones (called while rehashing only).
+     *
+     * @param capacity the capacity
+     * @return previous value arrays holder (passed back to {@link #copyValue(Object, int, int)} while rehashing)
+     */
+    abstract Object allocateValues(int capacity);
+
+    /**
+     * @return number of the slots of this table (and of the value arrays)
+     */
+    final int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Removes all keys (and values) from this table.
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        clearValues();
+        size = 0;
+    }
+
+    /**
+     * Clears all value slots (releasing the references, if any).
+     */
+    abstract void clearValues();
+
+    /**
+     * Clears given value slot (releasing the reference, if any).
+     *
+     * @param slot the slot
+     */
+    abstract void clearValue(int slot);
+
+    /**
+     * Copies the value from the previous value arrays into the current ones.
+     *
+     * @param previous previous value arrays holder, as returned by {@link #allocateValues(int)}
+     * @param from the slot within previous value arrays
+     * @param to the slot within current value arrays
+     */
+    abstract void copyValue(Object previous, int from, int to);
+
+    /**
+     * @return {@code true} if this table is empty, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return 0 == size;
+    }
+
+    /**
+     * @return copy of the keys (packed EINs) held by this table, in no particular order
+     */
+    int[] keyArray() {
+        final int[] result = new int[size];
+        int position = 0;
+        for (final int key : keys) {
+            if (FREE != key) {
+                result[position++] = key;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Moves the value between the slots of current value arrays.
+     *
+     * @param from the source slot
+     * @param to the target slot
+     */
+    abstract void moveValue(int from, int to);
+
+    private void rehash() {
+        Preconditions.checkState(keys.length < MAXIMUM_CAPACITY, "EIN table reached its maximum capacity.");
+        final int[] previousKeys = keys;
+        allocateKeys(keys.length << 1);
+        final Object previousValues = allocateValues(keys.length);
+        for (int from = 0; from < previousKeys.length; from++) {
+            final int key = previousKeys[from];
+            if (FREE != key) {
+                final int to = -slotOf(key) - 1;
+                keys[to] = key;
+                copyValue(previousValues, from, to);
+            }
+        }
+    }
+
+    /**
+     * Inserts given key into this table, if not present already.
+     *
+     * @param key packed EIN
+     * @return slot holding given key, or {@code -(slot + 1)} if the key was inserted into given slot
+     */
+    final int insert(final int key) {
+        int slot = slotOf(key);
+        if (slot < 0) {
+            if (size >= threshold) {
+                rehash();
+                slot = slotOf(key);
+            }
+            keys[-slot - 1] = key;
+            size++;
+        }
+        return slot;
+    }
+
+    /**
+     * Removes key held by given slot, shifting back the following keys of the same cluster.
+     *
+     * @param slot the slot
+     */
+    final void removeSlot(final int slot) {
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (FREE != keys[next]) {
+            final int ideal = hash(keys[next]) & mask;
+            if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                moveValue(next, gap);
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = FREE;
+        clearValue(gap);
+        size--;
+    }
+
+    /**
+     * @return number of keys held by this table
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the slot of given key.
+     *
+     * @param key packed EIN
+     * @return slot holding given key, or {@code -(slot + 1)} where {@code slot} is the free slot into which given key
+     *         should be inserted
+     */
+    final int slotOf(final int key) {
+        int slot = hash(key) & mask;
+        int current = keys[slot];
+        while ((FREE != current) && (key != current)) {
+            slot = (slot + 1) & mask;
+            current = keys[slot];
+        }
+        return (FREE == current) ? -slot - 1 : slot;
+    }
+
+}
@@ -0,0 +1,142 @@
+package pl.ais.commons.domain.ein;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Registry of the EIN prefixes assigned by the IRS, mapping each of them to the issuing campus.
+ *
+ * <p>
+ *     Backed by 100-element array indexed by the prefix, thus each lookup takes constant time, and doesn't allocate
+ *     any objects.
+ * </p>
+ *
+ * @see <a href="http://www.irs.gov/Businesses/Small-Businesses-&-Self-Employed/How-EINs-are-Assigned-and-Valid-EIN-Prefixes">How EINs are Assigned and Valid EIN Prefixes</a>
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+public final class EinPrefixRegistry {
+
+    private static final Campus[] CAMPUSES = new Campus[100];
+
+    static {
+        assign(Campus.ANDOVER, 10, 12);
+        assign(Campus.ATLANTA, 60, 67);
+        assign(Campus.AUSTIN, 50, 53);
+        assign(Campus.BROOKHAVEN, 1, 2, 3, 4, 5, 6, 11, 13, 14, 16, 21, 22, 23, 25, 34, 51, 52, 54, 55, 56, 57, 58,
+            59, 65);
+        assign(Campus.CINCINNATI, 30, 32, 35, 36, 37, 38, 61);
+        assign(Campus.FRESNO, 15, 24);
+        assign(Campus.INTERNET, 20, 26, 27, 45, 46, 47, 81, 82, 83, 84, 85, 86, 87, 88, 92, 93, 99);
+        assign(Campus.KANSAS_CITY, 40, 44);
+        assign(Campus.MEMPHIS, 94, 95);
+        assign(Campus.OGDEN, 80, 90);
+        assign(Campus.PHILADELPHIA, 33, 39, 41, 42, 43, 48, 62, 63, 64, 66, 68, 71, 72, 73, 74, 75, 76, 77, 91, 98);
+        assign(Campus.SMALL_BUSINESS_ADMINISTRATION, 31);
+    }
+
+    private EinPrefixRegistry() {
+        super();
+    }
+
+    private static void assign(final Campus campus, final int... prefixes) {
+        for (final int prefix : prefixes) {
+            CAMPUSES[prefix] = campus;
+        }
+    }
+
+    /**
+     * @param prefix EIN prefix (first two digits of EIN)
+     * @return campus which issues EINs having given prefix, or {@code null} if given prefix is not assigned
+     */
+    @CheckForNull
+    @SuppressWarnings("PMD.NullAssignment")
+    public static Campus campusOf(final int prefix) {
+        return ((prefix >= 0) && (prefix < CAMPUSES.length)) ? CAMPUSES[prefix] : null;
+    }
+
+    /**
+     * @param ein the EIN
+     * @return campus which issued given EIN, or {@code null} if its prefix is not assigned
+     */
+    @CheckForNull
+    public static Campus campusOf(@Nonnull final EmployerIdentificationNumber ein) {
+        return CAMPUSES[ein.asInt() / EmployerIdentificationNumber.SEQUENCE_MODULUS];
+    }
+
+    /**
+     * @param prefix EIN prefix (first two digits of EIN)
+     * @return {@code true} if given prefix is assigned by the IRS, {@code false} otherwise
+     */
+    public static boolean isAssignedPrefix(final int prefix) {
+        return null != campusOf(prefix);
+    }
+
+    /**
+     * Campus (or other issuer) of the EINs.
+     */
+    public enum Campus {
+
+        /**
+         * Andover campus.
+         */
+        ANDOVER,
+
+        /**
+         * Atlanta campus.
+         */
+        ATLANTA,
+
+        /**
+         * Austin campus.
+         */
+        AUSTIN,
+
+        /**
+         * Brookhaven campus.
+         */
+        BROOKHAVEN,
+
+        /**
+         * Cincinnati campus.
+         */
+        CINCINNATI,
+
+        /**
+         * Fresno campus.
+         */
+        FRESNO,
+
+        /**
+         * Internet (online application).
+         */
+        INTERNET,
+
+        /**
+         * Kansas City campus.
+         */
+        KANSAS_CITY,
+
+        /**
+         * Memphis campus.
+         */
+        MEMPHIS,
+
+        /**
+         * Ogden campus.
+         */
+        OGDEN,
+
+        /**
+         * Philadelphia campus.
+         */
+        PHILADELPHIA,
+
+        /**
+         * Small Business Administration.
+         */
+        SMALL_BUSINESS_ADMINISTRATION
+
+    }
+
+}
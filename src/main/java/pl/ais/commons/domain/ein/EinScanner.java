@@ -0,0 +1,74 @@
+package pl.ais.commons.domain.ein;
+
+/**
+ * Single-pass, allocation-free scanner recognizing EIN textual representations.
+ *
+ * <p>
+ *     Recognizes both {@code NN-NNNNNNN} and {@code NNNNNNNNN} forms, where {@code N} is an ASCII digit, which is
+ *     exactly what {@code ^(\d{2})-?(\d{7})$} matches, without creating any {@link java.util.regex.Matcher} or
+ *     intermediate {@link String}.
+ * </p>
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+final class EinScanner {
+
+    /**
+     * Value returned by the scanning methods when provided text is not a valid EIN representation.
+     */
+    static final int INVALID = -1;
+
+    private EinScanner() {
+        super();
+    }
+
+    /**
+     * Scans given text as a number consisting of exactly {@code count} ASCII digits.
+     *
+     * @param text the text to scan (may be {@code null})
+     * @param count expected number of digits (at most 9)
+     * @return scanned number, or {@link #INVALID} if text doesn't consist of exactly {@code count} digits
+     */
+    static int scanDigits(final CharSequence text, final int count) {
+        boolean valid = (null != text) && (count == text.length());
+        int value = 0;
+        for (int index = 0; valid && (index < count); index++) {
+            final char character = text.charAt(index);
+            valid = isDigit(character);
+            value = value * 10 + (character - '0');
+        }
+        return valid ? value : INVALID;
+    }
+
+    private static boolean isDigit(final char character) {
+        return (character >= '0') && (character <= '9');
+    }
+
+    /**
+     * Scans given text range as EIN.
+     *
+     * @param text the text to scan
+     * @param start index of the first character to scan (inclusive)
+     * @param end index of the last character to scan (exclusive)
+     * @return EIN digits as 9-digit number ({@code prefixCode * 10^7 + sequenceNumber}), or {@link #INVALID} if given
+     *         range is not a valid EIN representation
+     */
+    static int scan(final CharSequence text, final int start, final int end) {
+        final int length = end - start;
+        boolean valid = (9 == length) || (10 == length);
+        int value = 0;
+        int digits = 0;
+        for (int index = start; valid && (index < end); index++) {
+            final char character = text.charAt(index);
+            if (isDigit(character)) {
+                value = value * 10 + (character - '0');
+                digits++;
+            } else {
+                valid = ('-' == character) && (2 == index - start) && (10 == length);
+            }
+        }
+        return (valid && (9 == digits)) ? value : INVALID;
+    }
+
+}
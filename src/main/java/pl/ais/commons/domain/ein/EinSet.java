@@ -0,0 +1,141 @@
+package pl.ais.commons.domain.ein;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Set of Employer Identification Numbers, keeping them packed into primitive {@code int} array.
+ *
+ * <p>
+ *     Uses open addressing (linear probing), thus neither the EINs nor any entries are allocated per element, and
+ *     allows adding and looking up the EINs given as text ({@code 00-0000000} or {@code 000000000}) without creating
+ *     {@link EmployerIdentificationNumber} instances.
+ * </p>
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@NotThreadSafe
+public final class EinSet extends EinHashTable {
+
+    /**
+     * Constructs new instance.
+     */
+    public EinSet() {
+        this(16);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param expectedSize expected number of EINs held by this set
+     */
+    public EinSet(final int expectedSize) {
+        super(expectedSize);
+    }
+
+    /**
+     * Adds given EIN to this set.
+     *
+     * @param ein EIN representation ({@code 00-0000000} or {@code 000000000})
+     * @return {@code true} if this set did not already contain given EIN, {@code false} otherwise
+     * @throws IllegalArgumentException if given text is not a valid EIN representation
+     */
+    public boolean add(@Nonnull final CharSequence ein) {
+        return insert(requireKey(ein)) < 0;
+    }
+
+    /**
+     * Adds given EIN to this set.
+     *
+     * @param ein the EIN
+     * @return {@code true} if this set did not already contain given EIN, {@code false} otherwise
+     */
+    public boolean add(@Nonnull final EmployerIdentificationNumber ein) {
+        return insert(ein.asInt()) < 0;
+    }
+
+    /**
+     * Adds given EIN to this set.
+     *
+     * @param ein packed EIN ({@link EmployerIdentificationNumber#asInt()})
+     * @return {@code true} if this set did not already contain given EIN, {@code false} otherwise
+     * @throws IllegalArgumentException if given value is not a valid packed EIN
+     */
+    public boolean add(final int ein) {
+        return insert(requireKey(ein)) < 0;
+    }
+
+    @Override
+    Object allocateValues(final int capacity) {
+        return null;
+    }
+
+    @Override
+    void clearValue(final int slot) {
+        // There are no values to clear.
+    }
+
+    @Override
+    void clearValues() {
+        // There are no values to clear.
+    }
+
+    /**
+     * @param ein EIN representation ({@code 00-0000000} or {@code 000000000})
+     * @return {@code true} if this set contains given EIN, {@code false} otherwise (including the case when given text
+     *         is not a valid EIN representation)
+     */
+    public boolean contains(@Nonnull final CharSequence ein) {
+        final int key = keyOf(ein);
+        return (EinScanner.INVALID != key) && (slotOf(key) >= 0);
+    }
+
+    /**
+     * @param ein the EIN
+     * @return {@code true} if this set contains given EIN, {@code false} otherwise
+     */
+    public boolean contains(@Nonnull final EmployerIdentificationNumber ein) {
+        return slotOf(ein.asInt()) >= 0;
+    }
+
+    /**
+     * @param ein packed EIN ({@link EmployerIdentificationNumber#asInt()})
+     * @return {@code true} if this set contains given EIN, {@code false} otherwise
+     */
+    public boolean contains(final int ein) {
+        return (ein >= 0) && (slotOf(ein) >= 0);
+    }
+
+    @Override
+    void copyValue(final Object previous, final int from, final int to) {
+        // There are no values to copy.
+    }
+
+    @Override
+    void moveValue(final int from, final int to) {
+        // There are no values to move.
+    }
+
+    /**
+     * Removes given EIN from this set.
+     *
+     * @param ein packed EIN ({@link EmployerIdentificationNumber#asInt()})
+     * @return {@code true} if this set contained given EIN, {@code false} otherwise
+     */
+    public boolean remove(final int ein) {
+        final int slot = (ein < 0) ? -1 : slotOf(ein);
+        if (slot >= 0) {
+            removeSlot(slot);
+        }
+        return slot >= 0;
+    }
+
+    /**
+     * @return packed EINs held by this set, in no particular order
+     */
+    public int[] toArray() {
+        return keyArray();
+    }
+
+}
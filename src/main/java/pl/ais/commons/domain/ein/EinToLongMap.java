@@ -0,0 +1,152 @@
+package pl.ais.commons.domain.ein;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Map from Employer Identification Numbers to {@code long} values, keeping both packed into primitive arrays.
+ *
+ * <p>
+ *     Uses open addressing (linear probing), thus neither the EINs, values nor any entries are allocated per element,
+ *     and allows using the EINs given as text ({@code 00-0000000} or {@code 000000000}) without creating
+ *     {@link EmployerIdentificationNumber} instances.
+ * </p>
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@NotThreadSafe
+public final class EinToLongMap extends EinHashTable {
+
+    private long[] values;
+
+    /**
+     * Constructs new instance.
+     */
+    public EinToLongMap() {
+        this(16);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param expectedSize expected number of EINs held by this map
+     */
+    public EinToLongMap(final int expectedSize) {
+        super(expectedSize);
+        values = new long[capacity()];
+    }
+
+    @Override
+    Object allocateValues(final int capacity) {
+        final long[] previous = values;
+        values = new long[capacity];
+        return previous;
+    }
+
+    @Override
+    void clearValue(final int slot) {
+        values[slot] = 0;
+    }
+
+    @Override
+    void clearValues() {
+        Arrays.fill(values, 0);
+    }
+
+    /**
+     * @param ein EIN representation ({@code 00-0000000} or {@code 000000000})
+     * @return {@code true} if this map contains given EIN, {@code false} otherwise (including the case when given text
+     *         is not a valid EIN representation)
+     */
+    public boolean containsKey(@Nonnull final CharSequence ein) {
+        final int key = keyOf(ein);
+        return (EinScanner.INVALID != key) && (slotOf(key) >= 0);
+    }
+
+    /**
+     * @param ein packed EIN ({@link EmployerIdentificationNumber#asInt()})
+     * @return {@code true} if this map contains given EIN, {@code false} otherwise
+     */
+    public boolean containsKey(final int ein) {
+        return (ein >= 0) && (slotOf(ein) >= 0);
+    }
+
+    @Override
+    void copyValue(final Object previous, final int from, final int to) {
+        values[to] = ((long[]) previous)[from];
+    }
+
+    /**
+     * @param ein EIN representation ({@code 00-0000000} or {@code 000000000})
+     * @param defaultValue value to return if this map doesn't contain given EIN
+     * @return value mapped to given EIN, or {@code defaultValue} if there is no such mapping (including the case when
+     *         given text is not a valid EIN representation)
+     */
+    public long getOrDefault(@Nonnull final CharSequence ein, final long defaultValue) {
+        final int key = keyOf(ein);
+        return (EinScanner.INVALID == key) ? defaultValue : getOrDefault(key, defaultValue);
+    }
+
+    /**
+     * @param ein packed EIN ({@link EmployerIdentificationNumber#asInt()})
+     * @param defaultValue value to return if this map doesn't contain given EIN
+     * @return value mapped to given EIN, or {@code defaultValue} if there is no such mapping
+     */
+    public long getOrDefault(final int ein, final long defaultValue) {
+        final int slot = (ein < 0) ? -1 : slotOf(ein);
+        return (slot < 0) ? defaultValue : values[slot];
+    }
+
+    /**
+     * @return packed EINs held by this map, in no particular order
+     */
+    public int[] keys() {
+        return keyArray();
+    }
+
+    @Override
+    void moveValue(final int from, final int to) {
+        values[to] = values[from];
+    }
+
+    /**
+     * Maps given EIN to given value.
+     *
+     * @param ein EIN representation ({@code 00-0000000} or {@code 000000000})
+     * @param value the value
+     * @throws IllegalArgumentException if given text is not a valid EIN representation
+     */
+    public void put(@Nonnull final CharSequence ein, final long value) {
+        put(requireKey(ein), value);
+    }
+
+    /**
+     * Maps given EIN to given value.
+     *
+     * @param ein packed EIN ({@link EmployerIdentificationNumber#asInt()})
+     * @param value the value
+     * @throws IllegalArgumentException if given value is not a valid packed EIN
+     */
+    public void put(final int ein, final long value) {
+        final int slot = insert(requireKey(ein));
+        values[(slot < 0) ? -slot - 1 : slot] = value;
+    }
+
+    /**
+     * Removes mapping of given EIN.
+     *
+     * @param ein packed EIN ({@link EmployerIdentificationNumber#asInt()})
+     * @return {@code true} if this map contained given EIN, {@code false} otherwise
+     */
+    public boolean remove(final int ein) {
+        final int slot = (ein < 0) ? -1 : slotOf(ein);
+        if (slot >= 0) {
+            removeSlot(slot);
+        }
+        return slot >= 0;
+    }
+
+}
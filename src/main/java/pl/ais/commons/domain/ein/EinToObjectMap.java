@@ -0,0 +1,174 @@
+package pl.ais.commons.domain.ein;
+
+import java.util.Arrays;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Map from Employer Identification Numbers to objects, keeping EINs packed into primitive {@code int} array.
+ *
+ * <p>
+ *     Uses open addressing (linear probing), thus neither the EINs nor any entries are allocated per element, and
+ *     allows using the EINs given as text ({@code 00-0000000} or {@code 000000000}) without creating
+ *     {@link EmployerIdentificationNumber} instances.
+ * </p>
+ *
+ * @param <V> the type of mapped values
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@NotThreadSafe
+public final class EinToObjectMap<V> extends EinHashTable {
+
+    private Object[] values;
+
+    /**
+     * Constructs new instance.
+     */
+    public EinToObjectMap() {
+        this(16);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param expectedSize expected number of EINs held by this map
+     */
+    public EinToObjectMap(final int expectedSize) {
+        super(expectedSize);
+        values = new Object[capacity()];
+    }
+
+    @Override
+    Object allocateValues(final int capacity) {
+        final Object[] previous = values;
+        values = new Object[capacity];
+        return previous;
+    }
+
+    @Override
+    @SuppressWarnings("PMD.NullAssignment")
+    void clearValue(final int slot) {
+        values[slot] = null;
+    }
+
+    @Override
+    void clearValues() {
+        Arrays.fill(values, null);
+    }
+
+    /**
+     * @param ein EIN representation ({@code 00-0000000} or {@code 000000000})
+     * @return {@code true} if this map contains given EIN, {@code false} otherwise (including the case when given text
+     *         is not a valid EIN representation)
+     */
+    public boolean containsKey(@Nonnull final CharSequence ein) {
+        final int key = keyOf(ein);
+        return (EinScanner.INVALID != key) && (slotOf(key) >= 0);
+    }
+
+    /**
+     * @param ein packed EIN ({@link EmployerIdentificationNumber#asInt()})
+     * @return {@code true} if this map contains given EIN, {@code false} otherwise
+     */
+    public boolean containsKey(final int ein) {
+        return (ein >= 0) && (slotOf(ein) >= 0);
+    }
+
+    @Override
+    void copyValue(final Object previous, final int from, final int to) {
+        values[to] = ((Object[]) previous)[from];
+    }
+
+    /**
+     * @param ein EIN representation ({@code 00-0000000} or {@code 000000000})
+     * @return value mapped to given EIN, or {@code null} if there is no such mapping (including the case when given
+     *         text is not a valid EIN representation)
+     */
+    @CheckForNull
+    @SuppressWarnings("PMD.NullAssignment")
+    public V get(@Nonnull final CharSequence ein) {
+        final int key = keyOf(ein);
+        return (EinScanner.INVALID == key) ? null : get(key);
+    }
+
+    /**
+     * @param ein packed EIN ({@link EmployerIdentificationNumber#asInt()})
+     * @return value mapped to given EIN, or {@code null} if there is no such mapping
+     */
+    @CheckForNull
+    @SuppressWarnings({"PMD.NullAssignment", "unchecked"})
+    public V get(final int ein) {
+        final int slot = (ein < 0) ? -1 : slotOf(ein);
+        return (slot < 0) ? null : (V) values[slot];
+    }
+
+    /**
+     * @return packed EINs held by this map, in no particular order
+     */
+    public int[] keys() {
+        return keyArray();
+    }
+
+    @Override
+    void moveValue(final int from, final int to) {
+        values[to] = values[from];
+    }
+
+    /**
+     * Maps given EIN to given value.
+     *
+     * @param ein EIN representation ({@code 00-0000000} or {@code 000000000})
+     * @param value the value
+     * @return value previously mapped to given EIN, or {@code null} if there was no such mapping
+     * @throws IllegalArgumentException if given text is not a valid EIN representation
+     */
+    @CheckForNull
+    public V put(@Nonnull final CharSequence ein, @Nonnull final V value) {
+        return put(requireKey(ein), value);
+    }
+
+    /**
+     * Maps given EIN to given value.
+     *
+     * @param ein packed EIN ({@link EmployerIdentificationNumber#asInt()})
+     * @param value the value
+     * @return value previously mapped to given EIN, or {@code null} if there was no such mapping
+     * @throws IllegalArgumentException if given value is not a valid packed EIN
+     */
+    @CheckForNull
+    @SuppressWarnings("unchecked")
+    public V put(final int ein, @Nonnull final V value) {
+        Preconditions.checkNotNull(value, "Value cannot be null.");
+        int slot = insert(requireKey(ein));
+        if (slot < 0) {
+            slot = -slot - 1;
+        }
+        final V previous = (V) values[slot];
+        values[slot] = value;
+        return previous;
+    }
+
+    /**
+     * Removes mapping of given EIN.
+     *
+     * @param ein packed EIN ({@link EmployerIdentificationNumber#asInt()})
+     * @return value previously mapped to given EIN, or {@code null} if there was no such mapping
+     */
+    @CheckForNull
+    @SuppressWarnings({"PMD.NullAssignment", "unchecked"})
+    public V remove(final int ein) {
+        final int slot = (ein < 0) ? -1 : slotOf(ein);
+        V result = null;
+        if (slot >= 0) {
+            result = (V) values[slot];
+            removeSlot(slot);
+        }
+        return result;
+    }
+
+}
@@ -3,17 +3,32 @@ package pl.ais.commons.domain.ein;
 import java.io.IOException;
 import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
+import java.io.ObjectStreamException;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
-import java.util.Objects;
-import java.util.regex.Pattern;
 
 import javax.annotation.Nonnull;
 
+import pl.ais.commons.domain.intern.CountingInterner;
 import pl.ais.commons.domain.stereotype.ValueObject;
+import pl.ais.commons.domain.text.Digits;
 
 /**
  * Employer Identification Number.
  *
+ * <p>
+ *     Internally EIN is kept as single {@code int} ({@code prefixCode * 10^7 + sequenceNumber}), prefix code and
+ *     sequence number are derived from it on demand. EIN is serialized through compact serialization proxy holding
+ *     this {@code int} only, while the serialized form consisting of prefix code and sequence number strings, written
+ *     by the previous versions, is still readable.
+ * </p>
+ *
+ * <p>
+ *     Canonical representation ({@code 12-3456789}) is computed on first {@link #toString()} call and cached, while
+ *     {@link #printTo(Appendable)} writes EIN digits directly into the caller-supplied buffer, without creating any
+ *     intermediate strings.
+ * </p>
+ *
  * @see <a href="http://en.wikipedia.org/wiki/Employer_Identification_Number">Employer Identification Number</a>
  * @author Warlock, AIS.PL
  * @since 1.0.1
@@ -22,9 +37,22 @@ import pl.ais.commons.domain.stereotype.ValueObject;
 @ValueObject
 public final class EmployerIdentificationNumber implements Serializable {
 
-    private static final Pattern PREFIX_PATTERN = Pattern.compile("^\\d{2}$");
+    /**
+     * Largest value which may be packed into EIN.
+     */
+    public static final int MAX_VALUE = 999999999;
 
-    private static final Pattern SEQUENCE_PATTERN = Pattern.compile("^\\d{7}$");
+    /**
+     * Divisor separating prefix code from sequence number within packed EIN.
+     */
+    static final int SEQUENCE_MODULUS = 10000000;
+
+    /**
+     * Defines the serialized form used when EIN was kept as prefix code and sequence number, still readable by
+     * {@link #readObject(ObjectInputStream)} (and replaced by properly constructed EIN by {@link #readResolve()}).
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("prefixCode", String.class), new ObjectStreamField("sequenceNumber", String.class)};
 
     /**
      * Identifies the original class version for which it is capable of writing streams and from which it can read.
@@ -33,9 +61,30 @@ public final class EmployerIdentificationNumber implements Serializable {
      */
     private static final long serialVersionUID = -420949124853131997L;
 
-    private final String prefixCode;
+    private static final CountingInterner<EmployerIdentificationNumber> INTERNER = CountingInterner.weak();
+
+    /**
+     * Canonical representation of this EIN, computed lazily by {@link #toString()}.
+     *
+     * <p>
+     *     Racy single-check idiom is used here (as in {@link String#hashCode()}), concurrent first calls may compute
+     *     the representation more than once, but all of them publish equal, immutable strings.
+     * </p>
+     */
+    private transient String text;
+
+    private final transient int value;
 
-    private final String sequenceNumber;
+    /**
+     * Packed value decoded from the serialized form written by the previous versions, used by {@link #readResolve()}
+     * only (thus {@link #value} may stay final).
+     */
+    private transient int legacyValue;
+
+    private EmployerIdentificationNumber(final int value) {
+        super();
+        this.value = value;
+    }
 
     /**
      * Constructs new instance.
@@ -44,10 +93,85 @@ public final class EmployerIdentificationNumber implements Serializable {
      * @param sequenceNumber sequence number (last 7 digits of EIN)
      */
     public EmployerIdentificationNumber(@Nonnull final String prefixCode, @Nonnull final String sequenceNumber) {
-        super();
-        this.prefixCode = prefixCode;
-        this.sequenceNumber = sequenceNumber;
-        validateState();
+        this(pack(prefixCode, sequenceNumber));
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param prefixCode prefix code (first two digits of EIN)
+     * @param sequenceNumber sequence number (last 7 digits of EIN)
+     * @param strict determines if prefix code should be verified against {@link EinPrefixRegistry}
+     */
+    public EmployerIdentificationNumber(@Nonnull final String prefixCode, @Nonnull final String sequenceNumber,
+        final boolean strict) {
+        this(prefixCode, sequenceNumber);
+        if (strict && !EinPrefixRegistry.isAssignedPrefix(value / SEQUENCE_MODULUS)) {
+            throw new IllegalArgumentException("Prefix code should be assigned by the IRS.");
+        }
+    }
+
+    /**
+     * Creates EIN from its packed, 9-digit numeric representation.
+     *
+     * @param value EIN digits as number ({@code 123456789} stands for {@code 12-3456789})
+     * @return EIN represented by given value
+     * @throws IllegalArgumentException if value is negative or has more than 9 digits
+     */
+    public static EmployerIdentificationNumber of(final int value) {
+        if ((value < 0) || (value > MAX_VALUE)) {
+            throw new IllegalArgumentException("EIN value cannot be negative, and should have at most 9 digits.");
+        }
+        return new EmployerIdentificationNumber(value);
+    }
+
+    /**
+     * Provides canonical representation of given EIN, shared by all equal EINs interned this way (and referenced
+     * anywhere at the moment).
+     *
+     * @param ein the EIN
+     * @return canonical representation of given EIN
+     */
+    public static EmployerIdentificationNumber canonical(@Nonnull final EmployerIdentificationNumber ein) {
+        return INTERNER.intern(ein);
+    }
+
+    /**
+     * Provides canonical representation of EIN represented by given value.
+     *
+     * @param value EIN digits as number ({@code 123456789} stands for {@code 12-3456789})
+     * @return canonical representation of EIN represented by given value
+     * @throws IllegalArgumentException if value is negative or has more than 9 digits
+     * @see #canonical(EmployerIdentificationNumber)
+     */
+    public static EmployerIdentificationNumber canonical(final int value) {
+        return INTERNER.intern(of(value));
+    }
+
+    /**
+     * @return interner providing canonical EINs, exposing its hit rate statistics
+     */
+    public static CountingInterner<EmployerIdentificationNumber> getInterner() {
+        return INTERNER;
+    }
+
+    private static int pack(final String prefixCode, final String sequenceNumber) {
+        final int prefix = EinScanner.scanDigits(prefixCode, 2);
+        if (EinScanner.INVALID == prefix) {
+            throw new IllegalArgumentException("Prefix code cannot be null, and should have exactly 2 digits.");
+        }
+        final int sequence = EinScanner.scanDigits(sequenceNumber, 7);
+        if (EinScanner.INVALID == sequence) {
+            throw new IllegalArgumentException("Sequence number cannot be null, and should have exactly 7 digits.");
+        }
+        return prefix * SEQUENCE_MODULUS + sequence;
+    }
+
+    /**
+     * @return EIN digits as number ({@code 123456789} stands for {@code 12-3456789})
+     */
+    public int asInt() {
+        return value;
     }
 
     /**
@@ -58,7 +182,7 @@ public final class EmployerIdentificationNumber implements Serializable {
         boolean result = (this == object);
         if (!result && (null != object) && (getClass() == object.getClass())) {
             final EmployerIdentificationNumber other = (EmployerIdentificationNumber) object;
-            result = prefixCode.equals(other.prefixCode) && sequenceNumber.equals(other.sequenceNumber);
+            result = (value == other.value);
         }
         return result;
     }
@@ -67,14 +191,14 @@ public final class EmployerIdentificationNumber implements Serializable {
      * @return the prefix code (first 2 digits of EIN)
      */
     public String getPrefixCode() {
-        return prefixCode;
+        return Digits.format(value / SEQUENCE_MODULUS, 2);
     }
 
     /**
      * @return the sequence number (last 7 digits of EIN)
      */
     public String getSequenceNumber() {
-        return sequenceNumber;
+        return Digits.format(value % SEQUENCE_MODULUS, 7);
     }
 
     /**
@@ -82,33 +206,95 @@ public final class EmployerIdentificationNumber implements Serializable {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(prefixCode, sequenceNumber);
+        return value;
+    }
+
+    /**
+     * Writes canonical representation of this EIN ({@code 12-3456789}) into given target, without creating any
+     * intermediate strings.
+     *
+     * @param target the target to write into
+     * @return the target
+     * @throws IOException if the target raises it
+     */
+    public Appendable printTo(@Nonnull final Appendable target) throws IOException {
+        final String cached = text;
+        if (null == cached) {
+            Digits.append(target, value / SEQUENCE_MODULUS, 2);
+            target.append('-');
+            Digits.append(target, value % SEQUENCE_MODULUS, 7);
+        } else {
+            target.append(cached);
+        }
+        return target;
+    }
+
+    /**
+     * Writes canonical representation of this EIN ({@code 12-3456789}) into given builder, without creating any
+     * intermediate strings.
+     *
+     * @param target the builder to write into
+     * @return the builder
+     */
+    public StringBuilder printTo(@Nonnull final StringBuilder target) {
+        return Digits.printTo(target, this::printTo);
     }
 
     @SuppressWarnings("PMD.PreserveStackTrace")
     private void readObject(final ObjectInputStream objectStream) throws IOException, ClassNotFoundException {
-        objectStream.defaultReadObject();
+        final ObjectInputStream.GetField fields = objectStream.readFields();
         try {
-            validateState();
+            legacyValue = pack((String) fields.get("prefixCode", null), (String) fields.get("sequenceNumber", null));
         } catch (IllegalArgumentException exception) {
             throw new InvalidObjectException(exception.getMessage());
         }
     }
 
+    private Object readResolve() {
+        return new EmployerIdentificationNumber(legacyValue);
+    }
+
     /**
      * @see java.lang.Object#toString()
      */
     @Override
     public String toString() {
-        return prefixCode + "-" + sequenceNumber;
+        String result = text;
+        if (null == result) {
+            final char[] characters = new char[10];
+            Digits.write(value / SEQUENCE_MODULUS, characters, 0, 2);
+            characters[2] = '-';
+            Digits.write(value % SEQUENCE_MODULUS, characters, 3, 7);
+            result = new String(characters);
+            text = result;
+        }
+        return result;
     }
 
-    private void validateState() {
-        if ((null == prefixCode) || !PREFIX_PATTERN.matcher(prefixCode).matches()) {
-            throw new IllegalArgumentException("Prefix code cannot be null, and should have exactly 2 digits.");
+    private Object writeReplace() {
+        return new SerializationProxy(value);
+    }
+
+    /**
+     * Serialized form of the EIN, holding its packed value only.
+     */
+    private static final class SerializationProxy implements Serializable {
+
+        private static final long serialVersionUID = 7139466011526376528L;
+
+        private final int value;
+
+        SerializationProxy(final int value) {
+            this.value = value;
         }
-        if ((null == sequenceNumber) || !SEQUENCE_PATTERN.matcher(sequenceNumber).matches()) {
-            throw new IllegalArgumentException("Sequence number cannot be null, and should have exactly 7 digits.");
+
+        private Object readResolve() throws ObjectStreamException {
+            if ((value < 0) || (value > MAX_VALUE)) {
+                throw new InvalidObjectException("Deserialized value: '" + value + "' is not a valid EIN.");
+            }
+            return new EmployerIdentificationNumber(value);
         }
+
     }
+
 }
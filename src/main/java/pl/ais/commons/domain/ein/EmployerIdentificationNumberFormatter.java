@@ -1,26 +1,67 @@
 package pl.ais.commons.domain.ein;
 
+import java.io.IOException;
 import java.text.ParseException;
 import java.util.Locale;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
 
 import org.springframework.format.Formatter;
 
+import pl.ais.commons.domain.metrics.Instrumentation;
+import pl.ais.commons.domain.metrics.MetricsEvent;
+
+import com.google.common.base.Preconditions;
+
 /**
  * {@link Formatter} implementation applicable to {@link EmployerIdentificationNumber}.
  *
+ * <p>
+ *     Strict instance ({@link #getStrictInstance()}) additionally rejects EINs having prefix not assigned by the IRS
+ *     (see {@link EinPrefixRegistry}). Interning instances ({@link #interning()}) provide canonical EINs
+ *     ({@link EmployerIdentificationNumber#canonical(EmployerIdentificationNumber)}) instead of creating new ones.
+ * </p>
+ *
  * @author Warlock, AIS.PL
  * @since 1.1.1
  */
 @Immutable
 public final class EmployerIdentificationNumberFormatter implements Formatter<EmployerIdentificationNumber> {
 
-    private static final EmployerIdentificationNumberFormatter INSTANCE = new EmployerIdentificationNumberFormatter();
+    /**
+     * Value returned by {@link #tryParseAsInt(CharSequence, int, int)} when the text is not a valid EIN representation.
+     */
+    public static final int INVALID = EinScanner.INVALID;
+
+    private static final EmployerIdentificationNumberFormatter INSTANCE =
+        new EmployerIdentificationNumberFormatter(false, false);
+
+    private static final EmployerIdentificationNumberFormatter INTERNING_INSTANCE =
+        new EmployerIdentificationNumberFormatter(false, true);
 
-    private static final Pattern PATTERN = Pattern.compile("^(\\d{2})-?(\\d{7})$");
+    private static final EmployerIdentificationNumberFormatter STRICT_INSTANCE =
+        new EmployerIdentificationNumberFormatter(true, false);
+
+    private static final EmployerIdentificationNumberFormatter STRICT_INTERNING_INSTANCE =
+        new EmployerIdentificationNumberFormatter(true, true);
+
+    private final boolean interning;
+
+    private final boolean strict;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param strict determines if prefix code should be verified against {@link EinPrefixRegistry}
+     * @param interning determines if canonical EINs should be provided
+     */
+    private EmployerIdentificationNumberFormatter(final boolean strict, final boolean interning) {
+        super();
+        this.strict = strict;
+        this.interning = interning;
+    }
 
     /**
      * @return shared (singleton) instance of {@link EmployerIdentificationNumberFormatter}
@@ -30,10 +71,33 @@ public final class EmployerIdentificationNumberFormatter implements Formatter<Em
     }
 
     /**
-     * Constructs new instance.
+     * @return shared (singleton) instance of {@link EmployerIdentificationNumberFormatter} rejecting EINs having
+     *         prefix not assigned by the IRS
      */
-    private EmployerIdentificationNumberFormatter() {
-        super();
+    public static EmployerIdentificationNumberFormatter getStrictInstance() {
+        return STRICT_INSTANCE;
+    }
+
+    private EmployerIdentificationNumber create(final int value) {
+        return interning ? EmployerIdentificationNumber.canonical(value) : EmployerIdentificationNumber.of(value);
+    }
+
+    /**
+     * @return shared (singleton) instance of {@link EmployerIdentificationNumberFormatter} validating EINs the same
+     *         way as this one, but providing canonical EINs
+     */
+    public EmployerIdentificationNumberFormatter interning() {
+        return strict ? STRICT_INTERNING_INSTANCE : INTERNING_INSTANCE;
+    }
+
+    /**
+     * Verifies if given text is a valid EIN representation, without allocating any objects.
+     *
+     * @param text the text to verify (may be {@code null})
+     * @return {@code true} if given text is a valid EIN representation, {@code false} otherwise
+     */
+    public boolean isValid(@CheckForNull final CharSequence text) {
+        return (null != text) && (INVALID != scan(text, 0, text.length()));
     }
 
     /**
@@ -41,16 +105,26 @@ public final class EmployerIdentificationNumberFormatter implements Formatter<Em
      */
     @Override
     public EmployerIdentificationNumber parse(final String text, final Locale locale) throws ParseException {
-        EmployerIdentificationNumber result = null;
-        if (null != text) {
-            final Matcher matcher = PATTERN.matcher(text);
-            if (matcher.matches()) {
-                result = new EmployerIdentificationNumber(matcher.group(1), matcher.group(2));
-            } else {
-                throw new ParseException("Unable to parse provided text as EIN.", 0);
-            }
+        return (null == text) ? null : parse(text, 0, text.length());
+    }
+
+    /**
+     * Parses given text range as EIN, without copying it.
+     *
+     * @param text the text to parse
+     * @param start index of the first character to parse (inclusive)
+     * @param end index of the last character to parse (exclusive)
+     * @return EIN represented by given text range
+     * @throws ParseException if given range is not a valid EIN representation (error offset is the range start)
+     */
+    public EmployerIdentificationNumber parse(@Nonnull final CharSequence text, final int start, final int end)
+        throws ParseException {
+        Preconditions.checkPositionIndexes(start, end, text.length());
+        final int value = parseValue(text, start, end);
+        if (INVALID == value) {
+            throw new ParseException("Unable to parse provided text as EIN.", start);
         }
-        return result;
+        return create(value);
     }
 
     /**
@@ -62,4 +136,87 @@ public final class EmployerIdentificationNumberFormatter implements Formatter<Em
         return (null == ein) ? null : ein.toString();
     }
 
+    /**
+     * Writes given EIN into given target, without creating any intermediate strings.
+     *
+     * @param ein the EIN to write (nothing is written if it is {@code null})
+     * @param target the target to write into
+     * @return the target
+     * @throws IOException if the target raises it
+     */
+    public Appendable printTo(@CheckForNull final EmployerIdentificationNumber ein, @Nonnull final Appendable target)
+        throws IOException {
+        Preconditions.checkNotNull(target, "Target cannot be null.");
+        if (null != ein) {
+            ein.printTo(target);
+        }
+        return target;
+    }
+
+    private int parseValue(final CharSequence text, final int start, final int end) {
+        final int value = scan(text, start, end);
+        if (INVALID == value) {
+            Instrumentation.count(MetricsEvent.EIN_PARSE_FAILURE);
+        }
+        return value;
+    }
+
+    private int scan(final CharSequence text, final int start, final int end) {
+        final int value = EinScanner.scan(text, start, end);
+        return (strict && (INVALID != value)
+            && !EinPrefixRegistry.isAssignedPrefix(value / EmployerIdentificationNumber.SEQUENCE_MODULUS)) ? INVALID
+            : value;
+    }
+
+    /**
+     * Parses given text as EIN, without raising any exception when it is invalid.
+     *
+     * <p>
+     *     Intended for the hot loops processing large amount of possibly invalid data, where the cost of creating
+     *     {@link ParseException} (and filling its stack trace) for each invalid row is not acceptable.
+     * </p>
+     *
+     * @param text the text to parse (may be {@code null})
+     * @return EIN represented by given text, or {@code null} if text is {@code null} or is not a valid EIN
+     *         representation
+     */
+    @CheckForNull
+    @SuppressWarnings("PMD.NullAssignment")
+    public EmployerIdentificationNumber tryParse(@CheckForNull final CharSequence text) {
+        final int value = (null == text) ? INVALID : parseValue(text, 0, text.length());
+        return (INVALID == value) ? null : create(value);
+    }
+
+    /**
+     * Parses given text range as EIN, without copying it, and without raising any exception when it is invalid.
+     *
+     * @param text the text to parse
+     * @param start index of the first character to parse (inclusive)
+     * @param end index of the last character to parse (exclusive)
+     * @return EIN represented by given text range, or {@code null} if it is not a valid EIN representation
+     */
+    @CheckForNull
+    @SuppressWarnings("PMD.NullAssignment")
+    public EmployerIdentificationNumber tryParse(@Nonnull final CharSequence text, final int start, final int end) {
+        Preconditions.checkPositionIndexes(start, end, text.length());
+        final int value = parseValue(text, start, end);
+        return (INVALID == value) ? null : create(value);
+    }
+
+    /**
+     * Parses given text range as packed EIN, without raising any exception when it is invalid, and without allocating
+     * any objects.
+     *
+     * @param text the text to parse
+     * @param start index of the first character to parse (inclusive)
+     * @param end index of the last character to parse (exclusive)
+     * @return packed EIN ({@link EmployerIdentificationNumber#asInt()}), or {@link #INVALID} if given range is not a
+     *         valid EIN representation
+     * @throws IndexOutOfBoundsException if given range is not within the text
+     */
+    public int tryParseAsInt(@Nonnull final CharSequence text, final int start, final int end) {
+        Preconditions.checkPositionIndexes(start, end, text.length());
+        return parseValue(text, start, end);
+    }
+
 }
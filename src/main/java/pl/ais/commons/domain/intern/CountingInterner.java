@@ -0,0 +1,113 @@
+package pl.ais.commons.domain.intern;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * {@link Interner} decorator, recording the number of hits (requests answered with previously interned instance) and
+ * misses (requests interning given instance).
+ *
+ * <p>
+ *     Counters are kept in {@link LongAdder}s, thus concurrent parser threads interning values don't contend on them.
+ *     Hits and misses are told apart by the identity of the result only, thus interning the instance being canonical
+ *     already counts as a miss - callers should intern the freshly created instances only, for the hit rate to be
+ *     meaningful.
+ * </p>
+ *
+ * @param <E> type of the interned instances
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@ThreadSafe
+public final class CountingInterner<E> implements Interner<E> {
+
+    private final Interner<E> delegate;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * Constructs new instance.
+     *
+     * @param delegate the interner to decorate
+     */
+    public CountingInterner(@Nonnull final Interner<E> delegate) {
+        super();
+
+        // Verify constructor requirements, ...
+        Preconditions.checkNotNull(delegate, "Delegate cannot be null.");
+
+        // ... and initialize this instance fields.
+        this.delegate = delegate;
+    }
+
+    /**
+     * Creates weak interner, lock-striped and keeping the interned instances as long as they are referenced
+     * elsewhere.
+     *
+     * @param <E> type of the interned instances
+     * @return newly created interner
+     * @see Interners#newWeakInterner()
+     */
+    public static <E> CountingInterner<E> weak() {
+        return new CountingInterner<>(Interners.<E>newWeakInterner());
+    }
+
+    /**
+     * @return number of requests answered with previously interned instance
+     */
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return ratio of the requests answered with previously interned instance, or {@code 1.0} if there were no
+     *         requests yet
+     */
+    public double hitRate() {
+        final long hits = hitCount.sum();
+        final long requests = hits + missCount.sum();
+        return (0 == requests) ? 1.0 : (double) hits / requests;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     *     Request is counted as a miss whenever given instance is returned, including the case when it was interned
+     *     already.
+     * </p>
+     */
+    @Override
+    public E intern(final E sample) {
+        final E result = delegate.intern(sample);
+        if (result == sample) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return result;
+    }
+
+    /**
+     * @return number of requests interning given instance
+     */
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return total number of requests (not an atomic snapshot, if there are concurrent requests)
+     */
+    public long requestCount() {
+        return hitCount.sum() + missCount.sum();
+    }
+
+}
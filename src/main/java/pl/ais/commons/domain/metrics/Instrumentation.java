@@ -0,0 +1,107 @@
+package pl.ais.commons.domain.metrics;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Entry point of the instrumentation, holding currently installed {@link MetricsListener}.
+ *
+ * <p>
+ *     Instrumentation is disabled by default, and then the instrumented code pays for single volatile read only (no
+ *     clock reads and no allocation). The code is instrumented as follows:
+ * </p>
+ * <pre>
+ * final MetricsListener listener = Instrumentation.listener();
+ * final long start = Instrumentation.start(listener);
+ * try {
+ *     ... // the instrumented operation
+ * } finally {
+ *     Instrumentation.stop(listener, MetricsEvent.SSN_DECRYPT, start);
+ * }
+ * </pre>
+ * <p>
+ *     Thus the failed operations (which are usually the slowest ones) are recorded too.
+ * </p>
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+public final class Instrumentation {
+
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    private static volatile MetricsListener listener;
+
+    private Instrumentation() {
+        super();
+    }
+
+    /**
+     * Records untimed event, if instrumentation is enabled.
+     *
+     * @param event the event
+     */
+    public static void count(@Nonnull final MetricsEvent event) {
+        final MetricsListener current = listener;
+        if (null != current) {
+            current.record(event, 0);
+        }
+    }
+
+    /**
+     * Installs given listener, enabling the instrumentation.
+     *
+     * @param listener the listener which should receive the events from now on
+     */
+    public static void install(@Nonnull final MetricsListener listener) {
+        Preconditions.checkNotNull(listener, "Listener cannot be null.");
+        Instrumentation.listener = listener;
+    }
+
+    /**
+     * @return {@code true} if instrumentation is enabled, {@code false} otherwise
+     */
+    public static boolean isEnabled() {
+        return null != listener;
+    }
+
+    /**
+     * @return currently installed listener, or {@code null} if instrumentation is disabled
+     */
+    @CheckForNull
+    public static MetricsListener listener() {
+        return listener;
+    }
+
+    /**
+     * @param listener the listener obtained through {@link #listener()}
+     * @return current value of the nanosecond clock, or {@code 0} if given listener is {@code null}
+     */
+    public static long start(@CheckForNull final MetricsListener listener) {
+        return (null == listener) ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Records timed event, if given listener is not {@code null}.
+     *
+     * @param listener the listener obtained through {@link #listener()}
+     * @param event the event
+     * @param start value returned by {@link #start(MetricsListener)}
+     */
+    public static void stop(@CheckForNull final MetricsListener listener, @Nonnull final MetricsEvent event,
+        final long start) {
+        if (null != listener) {
+            listener.record(event, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Uninstalls current listener, disabling the instrumentation.
+     */
+    @SuppressWarnings("PMD.NullAssignment")
+    public static void uninstall() {
+        listener = null;
+    }
+
+}
@@ -0,0 +1,117 @@
+package pl.ais.commons.domain.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Low-contention latency histogram, having power-of-two buckets of nanosecond durations.
+ *
+ * <p>
+ *     Bucket {@code n} counts the durations from {@code 2^(n-1)} (inclusive) to {@code 2^n} (exclusive) nanoseconds,
+ *     bucket {@code 0} counts the zero durations. Each bucket is {@link LongAdder}, thus concurrent recording doesn't
+ *     contend on single memory location, and percentiles are accurate up to factor of 2.
+ * </p>
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@ThreadSafe
+public final class LatencyHistogram {
+
+    /**
+     * Number of the histogram buckets.
+     */
+    public static final int BUCKET_COUNT = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * Constructs new instance.
+     */
+    public LatencyHistogram() {
+        super();
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            buckets[index] = new LongAdder();
+        }
+    }
+
+    /**
+     * @param bucket index of the bucket
+     * @return number of the durations recorded within given bucket
+     */
+    public long bucketCount(final int bucket) {
+        Preconditions.checkElementIndex(bucket, BUCKET_COUNT, "Bucket");
+        return buckets[bucket].sum();
+    }
+
+    /**
+     * @return number of the recorded durations
+     */
+    public long count() {
+        long result = 0;
+        for (final LongAdder bucket : buckets) {
+            result += bucket.sum();
+        }
+        return result;
+    }
+
+    /**
+     * @return mean of the recorded durations in nanoseconds, or {@code 0} if nothing was recorded
+     */
+    public double meanNanos() {
+        final long count = count();
+        return (0 == count) ? 0 : (double) totalNanos.sum() / count;
+    }
+
+    /**
+     * Estimates given percentile of the recorded durations.
+     *
+     * @param percentile the percentile (from {@code 0} to {@code 100})
+     * @return upper bound (in nanoseconds) of the bucket holding given percentile, or {@code 0} if nothing was recorded
+     */
+    public long percentileNanos(final double percentile) {
+        Preconditions.checkArgument((percentile >= 0) && (percentile <= 100), "Percentile should be within 0..100.");
+        final long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            counts[index] = buckets[index].sum();
+            total += counts[index];
+        }
+        final long threshold = (long) Math.ceil(total * percentile / 100);
+        long seen = counts[0];
+        int bucket = 0;
+        while ((seen < threshold) && (bucket < BUCKET_COUNT - 1)) {
+            bucket++;
+            seen += counts[bucket];
+        }
+        return (0 == total) ? 0 : upperBound(bucket);
+    }
+
+    /**
+     * Records given duration.
+     *
+     * @param nanos the duration in nanoseconds (negative durations are recorded as zero)
+     */
+    public void record(final long nanos) {
+        final long duration = Math.max(0, nanos);
+        buckets[Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(duration))].increment();
+        totalNanos.add(duration);
+    }
+
+    /**
+     * @return sum of the recorded durations in nanoseconds
+     */
+    public long totalNanos() {
+        return totalNanos.sum();
+    }
+
+    private static long upperBound(final int bucket) {
+        return (0 == bucket) ? 0 : (1L << bucket) - 1;
+    }
+
+}
@@ -0,0 +1,55 @@
+package pl.ais.commons.domain.metrics;
+
+/**
+ * Events reported to {@link MetricsListener}.
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+public enum MetricsEvent {
+
+    /**
+     * EIN text could not be parsed.
+     */
+    EIN_PARSE_FAILURE(false),
+
+    /**
+     * Phone number text could not be parsed.
+     */
+    PHONE_NUMBER_PARSE_FAILURE(false),
+
+    /**
+     * SSN decomposition was answered by {@link pl.ais.commons.domain.ssn.SocialSecurityNumberCache}, without
+     * decrypting the representation.
+     */
+    SSN_CACHE_HIT(false),
+
+    /**
+     * SSN representation was decrypted (timed).
+     */
+    SSN_DECRYPT(true),
+
+    /**
+     * SSN was encrypted by {@link pl.ais.commons.domain.ssn.SocialSecurityNumberFactory} (timed).
+     */
+    SSN_ENCRYPT(true),
+
+    /**
+     * SSN text could not be parsed.
+     */
+    SSN_PARSE_FAILURE(false);
+
+    private final boolean timed;
+
+    MetricsEvent(final boolean timed) {
+        this.timed = timed;
+    }
+
+    /**
+     * @return {@code true} if the event is reported along with its duration, {@code false} otherwise
+     */
+    public boolean isTimed() {
+        return timed;
+    }
+
+}
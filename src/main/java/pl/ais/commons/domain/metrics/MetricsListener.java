@@ -0,0 +1,29 @@
+package pl.ais.commons.domain.metrics;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Receives the events of the instrumented hot paths (decryption, encryption and parsing), when installed through
+ * {@link Instrumentation#install(MetricsListener)}.
+ *
+ * <p>
+ *     Implementations are called synchronously by the instrumented code, from any thread, thus they should be
+ *     thread-safe, and as cheap as possible. {@link MetricsRecorder} is the default one, and may be used directly or
+ *     as the source of periodic reports for any metrics system.
+ * </p>
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@FunctionalInterface
+public interface MetricsListener {
+
+    /**
+     * Records single event.
+     *
+     * @param event the event
+     * @param durationNanos duration of the event in nanoseconds, or {@code 0} if the event is not timed
+     */
+    void record(@Nonnull MetricsEvent event, long durationNanos);
+
+}
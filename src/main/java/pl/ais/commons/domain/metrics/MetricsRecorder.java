@@ -0,0 +1,70 @@
+package pl.ais.commons.domain.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * {@link MetricsListener} counting all events, and recording durations of the timed ones within
+ * {@link LatencyHistogram}, using {@link LongAdder} based recorders.
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@ThreadSafe
+public final class MetricsRecorder implements MetricsListener {
+
+    private final Map<MetricsEvent, LongAdder> counters = new EnumMap<>(MetricsEvent.class);
+
+    private final Map<MetricsEvent, LatencyHistogram> histograms = new EnumMap<>(MetricsEvent.class);
+
+    /**
+     * Constructs new instance.
+     */
+    public MetricsRecorder() {
+        super();
+        for (final MetricsEvent event : MetricsEvent.values()) {
+            if (event.isTimed()) {
+                histograms.put(event, new LatencyHistogram());
+            } else {
+                counters.put(event, new LongAdder());
+            }
+        }
+    }
+
+    /**
+     * @param event the event
+     * @return number of the recorded events of given type
+     */
+    public long count(@Nonnull final MetricsEvent event) {
+        return event.isTimed() ? histograms.get(event).count() : counters.get(event).sum();
+    }
+
+    /**
+     * @param event the timed event
+     * @return histogram of the durations of given event
+     * @throws IllegalArgumentException if given event is not timed
+     */
+    public LatencyHistogram histogram(@Nonnull final MetricsEvent event) {
+        if (!event.isTimed()) {
+            throw new IllegalArgumentException("Event " + event + " is not timed.");
+        }
+        return histograms.get(event);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void record(final MetricsEvent event, final long durationNanos) {
+        if (event.isTimed()) {
+            histograms.get(event).record(durationNanos);
+        } else {
+            counters.get(event).increment();
+        }
+    }
+
+}
@@ -0,0 +1,200 @@
+package pl.ais.commons.domain.phone;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+import com.google.common.base.Splitter;
+
+/**
+ * North American Numbering Plan metadata, answering the questions about phone number area code (NPA) and exchange
+ * code (NXX).
+ *
+ * <p>
+ *     Validity checks are purely arithmetic. Region and time zone of the area codes are read from the bundled
+ *     {@code nanp.txt} resource on the first lookup, into 1000-element primitive tables indexed by the area code,
+ *     thus each lookup takes constant time, and doesn't allocate any objects. Only the area codes assigned to the
+ *     United States, its territories and Canada are covered by these tables.
+ * </p>
+ *
+ * @see <a href="http://en.wikipedia.org/wiki/North_American_Numbering_Plan">North American Numbering Plan</a>
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+public final class NanpMetadata {
+
+    /**
+     * Value returned by {@link #utcOffsetOf(int)} for the area codes having unknown time zone.
+     */
+    public static final int UNKNOWN_OFFSET = Integer.MIN_VALUE;
+
+    private static final long AREA_MODULUS = 10000000L;
+
+    private static final long EXCHANGE_MODULUS = 10000L;
+
+    private NanpMetadata() {
+        super();
+    }
+
+    private static boolean isValidCode(final int code) {
+        return (code >= 200) && (code <= 999) && (11 != code % 100);
+    }
+
+    /**
+     * Verifies if given phone number has valid area code and exchange code.
+     *
+     * @param value phone number digits as number ({@link PhoneNumber#toLong()})
+     * @return {@code true} if given phone number has valid area code and exchange code, {@code false} otherwise
+     */
+    public static boolean isValid(final long value) {
+        return isValidNpa(npaOf(value)) && isValidNxx(nxxOf(value));
+    }
+
+    /**
+     * Verifies if given phone number has valid area code and exchange code.
+     *
+     * @param phoneNumber the phone number
+     * @return {@code true} if given phone number has valid area code and exchange code, {@code false} otherwise
+     */
+    public static boolean isValid(@Nonnull final PhoneNumber phoneNumber) {
+        return isValid(phoneNumber.toLong());
+    }
+
+    /**
+     * Verifies if given area code is valid.
+     *
+     * <p>
+     *     Valid area code starts with digit from 2 to 9, is not the N11 service code, and is not the N9X code reserved
+     *     for the expansion of the numbering plan.
+     * </p>
+     *
+     * @param npa the area code
+     * @return {@code true} if given area code is valid, {@code false} otherwise
+     */
+    public static boolean isValidNpa(final int npa) {
+        return isValidCode(npa) && (9 != npa / 10 % 10);
+    }
+
+    /**
+     * Verifies if given exchange code is valid.
+     *
+     * <p>
+     *     Valid exchange code starts with digit from 2 to 9, and is not the N11 service code.
+     * </p>
+     *
+     * @param nxx the exchange code
+     * @return {@code true} if given exchange code is valid, {@code false} otherwise
+     */
+    public static boolean isValidNxx(final int nxx) {
+        return isValidCode(nxx);
+    }
+
+    /**
+     * @param value phone number digits as number ({@link PhoneNumber#toLong()})
+     * @return area code of given phone number
+     */
+    public static int npaOf(final long value) {
+        return (int) (value / AREA_MODULUS);
+    }
+
+    /**
+     * @param value phone number digits as number ({@link PhoneNumber#toLong()})
+     * @return exchange code of given phone number
+     */
+    public static int nxxOf(final long value) {
+        return (int) (value / EXCHANGE_MODULUS % 1000);
+    }
+
+    /**
+     * @param npa the area code
+     * @return region (USPS or Canada Post abbreviation, such as {@code NY} or {@code ON}) to which given area code is
+     *         assigned, or {@code null} if it is unknown
+     */
+    @CheckForNull
+    @SuppressWarnings("PMD.NullAssignment")
+    public static String regionOf(final int npa) {
+        final int index = ((npa >= 0) && (npa < 1000)) ? Tables.REGION_INDEXES[npa] : 0;
+        return (0 == index) ? null : Tables.REGIONS[index - 1];
+    }
+
+    /**
+     * @param phoneNumber the phone number
+     * @return region (USPS or Canada Post abbreviation, such as {@code NY} or {@code ON}) of given phone number, or
+     *         {@code null} if it is unknown
+     */
+    @CheckForNull
+    public static String regionOf(@Nonnull final PhoneNumber phoneNumber) {
+        return regionOf(npaOf(phoneNumber.toLong()));
+    }
+
+    /**
+     * @param npa the area code
+     * @return UTC offset (in minutes) of the standard time observed within given area code (daylight saving time is
+     *         not taken into account), or {@link #UNKNOWN_OFFSET} if it is unknown
+     */
+    public static int utcOffsetOf(final int npa) {
+        final boolean known = (npa >= 0) && (npa < 1000) && (0 != Tables.REGION_INDEXES[npa]);
+        return known ? Tables.OFFSETS[npa] : UNKNOWN_OFFSET;
+    }
+
+    /**
+     * @param phoneNumber the phone number
+     * @return UTC offset (in minutes) of the standard time observed by given phone number (daylight saving time is
+     *         not taken into account), or {@link #UNKNOWN_OFFSET} if it is unknown
+     */
+    public static int utcOffsetOf(@Nonnull final PhoneNumber phoneNumber) {
+        return utcOffsetOf(npaOf(phoneNumber.toLong()));
+    }
+
+    /**
+     * Holds the area code tables, loaded from the bundled resource when first accessed.
+     */
+    private static final class Tables {
+
+        static final short[] OFFSETS = new short[1000];
+
+        static final byte[] REGION_INDEXES = new byte[1000];
+
+        static final String[] REGIONS;
+
+        static {
+            final List<String> regions = new ArrayList<>();
+            try (InputStream stream = NanpMetadata.class.getResourceAsStream("nanp.txt")) {
+                if (null == stream) {
+                    throw new IllegalStateException("NANP metadata resource is missing.");
+                }
+                final BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(stream, StandardCharsets.US_ASCII));
+                final Splitter splitter = Splitter.on(' ').omitEmptyStrings();
+                for (String line = reader.readLine(); null != line; line = reader.readLine()) {
+                    if (!line.isEmpty() && ('#' != line.charAt(0))) {
+                        final List<String> columns = splitter.splitToList(line);
+                        final int npa = Integer.parseInt(columns.get(0));
+                        final String region = columns.get(1).intern();
+                        if (!regions.contains(region)) {
+                            regions.add(region);
+                        }
+                        REGION_INDEXES[npa] = (byte) (regions.indexOf(region) + 1);
+                        OFFSETS[npa] = Short.parseShort(columns.get(2));
+                    }
+                }
+            } catch (IOException exception) {
+                throw new IllegalStateException("Unable to load NANP metadata.", exception);
+            }
+            REGIONS = regions.toArray(new String[regions.size()]);
+        }
+
+        private Tables() {
+            super();
+        }
+
+    }
+
+}
@@ -3,17 +3,34 @@ package pl.ais.commons.domain.phone;
 import java.io.IOException;
 import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
+import java.io.ObjectStreamException;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 
 import javax.annotation.Nonnull;
 
+import pl.ais.commons.domain.intern.CountingInterner;
 import pl.ais.commons.domain.stereotype.ValueObject;
+import pl.ais.commons.domain.text.Digits;
 
 import com.google.common.base.Preconditions;
 
 /**
  * Phone number.
  *
+ * <p>
+ *     Internally phone number is kept as single {@code long} holding its 10 digits (area code, exchange code and
+ *     subscriber number), the components are derived from it on demand. Phone number is serialized through compact
+ *     serialization proxy holding this {@code long} only, while the serialized form consisting of 10-digit string,
+ *     written by the previous versions, is still readable.
+ * </p>
+ *
+ * <p>
+ *     Canonical representation ({@code 212-555-1234}) is computed on first {@link #toString()} call and cached,
+ *     while {@link #printTo(Appendable)} writes phone number digits directly into the caller-supplied buffer, without
+ *     creating any intermediate strings.
+ * </p>
+ *
  * @see <a href="http://en.wikipedia.org/wiki/North_American_Numbering_Plan">North American Numbering Plan</a>
  * @author Warlock, AIS.PL
  * @since 1.0
@@ -22,6 +39,24 @@ import com.google.common.base.Preconditions;
 @ValueObject
 public final class PhoneNumber implements Serializable {
 
+    /**
+     * Largest value which may be packed into phone number.
+     */
+    public static final long MAX_VALUE = 9999999999L;
+
+    private static final long AREA_MODULUS = 10000000L;
+
+    private static final long EXCHANGE_MODULUS = 10000L;
+
+    private static final CountingInterner<PhoneNumber> INTERNER = CountingInterner.weak();
+
+    /**
+     * Defines the serialized form used when phone number was kept as 10-digit string, still readable by
+     * {@link #readObject(ObjectInputStream)} (and replaced by properly constructed phone number by
+     * {@link #readResolve()}).
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {new ObjectStreamField("value", String.class)};
+
     /**
      * Identifies the original class version for which it is capable of writing streams and from which it can read.
      *
@@ -29,19 +64,39 @@ public final class PhoneNumber implements Serializable {
      */
     private static final long serialVersionUID = 3151171327963441278L;
 
-    private transient String areaCode;
+    /**
+     * Value of the phone number constructed without any components.
+     */
+    private static final long UNDEFINED = -1L;
 
-    private transient String exchangeCode;
+    /**
+     * Canonical representation of this phone number, computed lazily by {@link #toString()}.
+     *
+     * <p>
+     *     Racy single-check idiom is used here (as in {@link String#hashCode()}), concurrent first calls may compute
+     *     the representation more than once, but all of them publish equal, immutable strings.
+     * </p>
+     */
+    private transient String text;
 
-    private transient String subscriberNumber;
+    private final transient long value;
 
-    private String value;
+    /**
+     * Packed value decoded from the serialized form written by the previous versions, used by {@link #readResolve()}
+     * only (thus {@link #value} may stay final).
+     */
+    private transient long legacyValue;
 
     /**
      * Constructs new instance.
      */
     public PhoneNumber() {
+        this(UNDEFINED);
+    }
+
+    private PhoneNumber(final long value) {
         super();
+        this.value = value;
     }
 
     /**
@@ -61,14 +116,70 @@ public final class PhoneNumber implements Serializable {
         Preconditions.checkNotNull(subscriberNumber, "Subscriber number is required.");
 
         // ... and initialize this instance fields.
-        this.value = areaCode + exchangeCode + subscriberNumber;
-        if (10 != value.length()) {
+        final long area = scanDigits(areaCode, 3);
+        final long exchange = scanDigits(exchangeCode, 3);
+        final long subscriber = scanDigits(subscriberNumber, 4);
+        if ((UNDEFINED == area) || (UNDEFINED == exchange) || (UNDEFINED == subscriber)) {
+            throw new IllegalArgumentException("Provided value: '" + areaCode + exchangeCode + subscriberNumber
+                + "' is not a valid representation of the phone number.");
+        }
+        this.value = area * AREA_MODULUS + exchange * EXCHANGE_MODULUS + subscriber;
+    }
+
+    /**
+     * Provides canonical representation of given phone number, shared by all equal phone numbers interned this way
+     * (and referenced anywhere at the moment).
+     *
+     * @param phoneNumber the phone number
+     * @return canonical representation of given phone number
+     */
+    public static PhoneNumber canonical(@Nonnull final PhoneNumber phoneNumber) {
+        return INTERNER.intern(phoneNumber);
+    }
+
+    /**
+     * Provides canonical representation of phone number represented by given value.
+     *
+     * @param value phone number digits as number ({@code 2125551234L} stands for {@code 212-555-1234})
+     * @return canonical representation of phone number represented by given value
+     * @throws IllegalArgumentException if value is negative or has more than 10 digits
+     * @see #canonical(PhoneNumber)
+     */
+    public static PhoneNumber canonical(final long value) {
+        return INTERNER.intern(of(value));
+    }
+
+    /**
+     * @return interner providing canonical phone numbers, exposing its hit rate statistics
+     */
+    public static CountingInterner<PhoneNumber> getInterner() {
+        return INTERNER;
+    }
+
+    /**
+     * Creates phone number from its packed, 10-digit numeric representation.
+     *
+     * @param value phone number digits as number ({@code 2125551234L} stands for {@code 212-555-1234})
+     * @return phone number represented by given value
+     * @throws IllegalArgumentException if value is negative or has more than 10 digits
+     */
+    public static PhoneNumber of(final long value) {
+        if ((value < 0) || (value > MAX_VALUE)) {
             throw new IllegalArgumentException("Provided value: '" + value
                 + "' is not a valid representation of the phone number.");
         }
-        this.areaCode = areaCode;
-        this.exchangeCode = exchangeCode;
-        this.subscriberNumber = subscriberNumber;
+        return new PhoneNumber(value);
+    }
+
+    private static long scanDigits(final CharSequence text, final int count) {
+        boolean valid = (null != text) && (count == text.length());
+        long result = 0;
+        for (int index = 0; valid && (index < count); index++) {
+            final char character = text.charAt(index);
+            valid = (character >= '0') && (character <= '9');
+            result = result * 10 + (character - '0');
+        }
+        return valid ? result : UNDEFINED;
     }
 
     /**
@@ -79,7 +190,7 @@ public final class PhoneNumber implements Serializable {
         boolean result = (this == object);
         if (!result && (null != object) && (getClass() == object.getClass())) {
             final PhoneNumber other = (PhoneNumber) object;
-            result = value.equals(other.value);
+            result = (value == other.value);
         }
         return result;
     }
@@ -89,7 +200,7 @@ public final class PhoneNumber implements Serializable {
      */
     @Nonnull
     public String getAreaCode() {
-        return areaCode;
+        return part(value / AREA_MODULUS, 3);
     }
 
     /**
@@ -97,7 +208,7 @@ public final class PhoneNumber implements Serializable {
      */
     @Nonnull
     public String getExchangeCode() {
-        return exchangeCode;
+        return part(value / EXCHANGE_MODULUS % 1000, 3);
     }
 
     /**
@@ -105,7 +216,7 @@ public final class PhoneNumber implements Serializable {
      */
     @Nonnull
     public String getSubscriberNumber() {
-        return subscriberNumber;
+        return part(value % EXCHANGE_MODULUS, 4);
     }
 
     /**
@@ -113,22 +224,75 @@ public final class PhoneNumber implements Serializable {
      */
     @Override
     public int hashCode() {
-        return value.hashCode();
+        return (int) (value ^ (value >>> 32));
+    }
+
+    @SuppressWarnings("PMD.NullAssignment")
+    private String part(final long number, final int count) {
+        String result = null;
+        if (UNDEFINED != value) {
+            final char[] characters = new char[count];
+            Digits.write(number, characters, 0, count);
+            result = new String(characters);
+        }
+        return result;
+    }
+
+    /**
+     * Writes canonical representation of this phone number ({@code 212-555-1234}) into given target, without
+     * creating any intermediate strings.
+     *
+     * @param target the target to write into
+     * @return the target
+     * @throws IOException if the target raises it
+     */
+    public Appendable printTo(@Nonnull final Appendable target) throws IOException {
+        final String cached = text;
+        if ((null == cached) && (UNDEFINED != value)) {
+            Digits.append(target, value / AREA_MODULUS, 3);
+            target.append('-');
+            Digits.append(target, value / EXCHANGE_MODULUS % 1000, 3);
+            target.append('-');
+            Digits.append(target, value % EXCHANGE_MODULUS, 4);
+        } else {
+            target.append(toString());
+        }
+        return target;
+    }
+
+    /**
+     * Writes canonical representation of this phone number ({@code 212-555-1234}) into given builder, without
+     * creating any intermediate strings.
+     *
+     * @param target the builder to write into
+     * @return the builder
+     */
+    public StringBuilder printTo(@Nonnull final StringBuilder target) {
+        return Digits.printTo(target, this::printTo);
     }
 
     private void readObject(final ObjectInputStream objectStream) throws IOException, ClassNotFoundException {
 
         // Read object, ...
-        objectStream.defaultReadObject();
+        final String representation = (String) objectStream.readFields().get("value", null);
 
-        // ... and restore its state.
-        if (10 != value.length()) {
-            throw new InvalidObjectException("Deserialized value: '" + value
+        // ... and decode its state.
+        legacyValue = scanDigits(representation, 10);
+        if (UNDEFINED == legacyValue) {
+            throw new InvalidObjectException("Deserialized value: '" + representation
                 + "' is not a valid representation of the phone number.");
         }
-        this.areaCode = value.substring(0, 3);
-        this.exchangeCode = value.substring(3, 6);
-        this.subscriberNumber = value.substring(6);
+    }
+
+    private Object readResolve() {
+        return new PhoneNumber(legacyValue);
+    }
+
+    /**
+     * @return phone number digits as number ({@code 2125551234L} stands for {@code 212-555-1234})
+     */
+    public long toLong() {
+        return value;
     }
 
     /**
@@ -136,7 +300,49 @@ public final class PhoneNumber implements Serializable {
      */
     @Override
     public String toString() {
-        return this.areaCode + "-" + this.exchangeCode + "-" + this.subscriberNumber;
+        String result = text;
+        if (null == result) {
+            if (UNDEFINED == value) {
+                result = "null-null-null";
+            } else {
+                final char[] characters = new char[12];
+                Digits.write(value / AREA_MODULUS, characters, 0, 3);
+                characters[3] = '-';
+                Digits.write(value / EXCHANGE_MODULUS % 1000, characters, 4, 3);
+                characters[7] = '-';
+                Digits.write(value % EXCHANGE_MODULUS, characters, 8, 4);
+                result = new String(characters);
+            }
+            text = result;
+        }
+        return result;
+    }
+
+    private Object writeReplace() {
+        return new SerializationProxy(value);
+    }
+
+    /**
+     * Serialized form of the phone number, holding its packed value only.
+     */
+    private static final class SerializationProxy implements Serializable {
+
+        private static final long serialVersionUID = -2404939787711375210L;
+
+        private final long value;
+
+        SerializationProxy(final long value) {
+            this.value = value;
+        }
+
+        private Object readResolve() throws ObjectStreamException {
+            if ((UNDEFINED != value) && ((value < 0) || (value > MAX_VALUE))) {
+                throw new InvalidObjectException("Deserialized value: '" + value
+                    + "' is not a valid representation of the phone number.");
+            }
+            return new PhoneNumber(value);
+        }
+
     }
 
 }
@@ -0,0 +1,246 @@
+package pl.ais.commons.domain.phone;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.Locale;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import org.springframework.format.Formatter;
+
+import pl.ais.commons.domain.metrics.Instrumentation;
+import pl.ais.commons.domain.metrics.MetricsEvent;
+import pl.ais.commons.domain.text.Digits;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * {@link Formatter} implementation applicable to {@link PhoneNumber}.
+ *
+ * <p>
+ *     Parses the phone numbers written in any of the common NANP notations, like {@code (212) 555-1234},
+ *     {@code 212.555.1234}, {@code 212-555-1234}, {@code 2125551234}, {@code +1 212 555 1234} or
+ *     {@code 1-212-555-1234}, using single-pass scanner (without regular expressions and intermediate strings).
+ *     Prints them in the canonical ({@code 212-555-1234}) or E.164 ({@code +12125551234}) form, depending on the
+ *     instance being used (phone number constructed without any components has no E.164 form, thus it is always
+ *     printed as {@link PhoneNumber#toString()} does). Interning instances ({@link #interning()}) provide canonical
+ *     phone numbers ({@link PhoneNumber#canonical(PhoneNumber)}) instead of creating new ones. Phone numbers may also
+ *     be printed directly into the caller-supplied buffer ({@link #printTo(PhoneNumber, Appendable)}), without
+ *     creating any intermediate strings.
+ * </p>
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@Immutable
+public final class PhoneNumberFormatter implements Formatter<PhoneNumber> {
+
+    /**
+     * Value returned by {@link #tryParseAsLong(CharSequence, int, int)} when the text is not a valid phone number
+     * representation.
+     */
+    public static final long INVALID = PhoneNumberScanner.INVALID;
+
+    private static final PhoneNumberFormatter E164_INSTANCE = new PhoneNumberFormatter(true, false);
+
+    private static final PhoneNumberFormatter E164_INTERNING_INSTANCE = new PhoneNumberFormatter(true, true);
+
+    private static final PhoneNumberFormatter INSTANCE = new PhoneNumberFormatter(false, false);
+
+    private static final PhoneNumberFormatter INTERNING_INSTANCE = new PhoneNumberFormatter(false, true);
+
+    private final boolean e164;
+
+    private final boolean interning;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param e164 determines if phone numbers should be printed in E.164 form
+     * @param interning determines if canonical phone numbers should be provided
+     */
+    private PhoneNumberFormatter(final boolean e164, final boolean interning) {
+        super();
+        this.e164 = e164;
+        this.interning = interning;
+    }
+
+    /**
+     * @return shared (singleton) instance of {@link PhoneNumberFormatter} printing phone numbers in E.164 form
+     */
+    public static PhoneNumberFormatter getE164Instance() {
+        return E164_INSTANCE;
+    }
+
+    /**
+     * @return shared (singleton) instance of {@link PhoneNumberFormatter} printing phone numbers in canonical form
+     */
+    public static PhoneNumberFormatter getInstance() {
+        return INSTANCE;
+    }
+
+    private PhoneNumber create(final long value) {
+        return interning ? PhoneNumber.canonical(value) : PhoneNumber.of(value);
+    }
+
+    /**
+     * @param phoneNumber the phone number
+     * @return {@code true} if given phone number was constructed with components, {@code false} otherwise
+     */
+    private static boolean isDefined(final PhoneNumber phoneNumber) {
+        return phoneNumber.toLong() >= 0;
+    }
+
+    /**
+     * @return shared (singleton) instance of {@link PhoneNumberFormatter} printing phone numbers the same way as this
+     *         one, but providing canonical phone numbers
+     */
+    public PhoneNumberFormatter interning() {
+        return e164 ? E164_INTERNING_INSTANCE : INTERNING_INSTANCE;
+    }
+
+    /**
+     * Verifies if given text is a valid phone number representation, without allocating any objects.
+     *
+     * @param text the text to verify (may be {@code null})
+     * @return {@code true} if given text is a valid phone number representation, {@code false} otherwise
+     */
+    public boolean isValid(@CheckForNull final CharSequence text) {
+        return (null != text) && (PhoneNumberScanner.INVALID != PhoneNumberScanner.scan(text, 0, text.length()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PhoneNumber parse(final String text, final Locale locale) throws ParseException {
+        return (null == text) ? null : parse(text, 0, text.length());
+    }
+
+    /**
+     * Parses given text range as phone number, without copying it.
+     *
+     * @param text the text to parse
+     * @param start index of the first character to parse (inclusive)
+     * @param end index of the last character to parse (exclusive)
+     * @return phone number represented by given text range
+     * @throws ParseException if given range is not a valid phone number representation (error offset is the range
+     *         start)
+     */
+    public PhoneNumber parse(@Nonnull final CharSequence text, final int start, final int end) throws ParseException {
+        Preconditions.checkPositionIndexes(start, end, text.length());
+        final long value = parseValue(text, start, end);
+        if (PhoneNumberScanner.INVALID == value) {
+            throw new ParseException("Unable to parse provided text as phone number.", start);
+        }
+        return create(value);
+    }
+
+    private static long parseValue(final CharSequence text, final int start, final int end) {
+        final long value = PhoneNumberScanner.scan(text, start, end);
+        if (PhoneNumberScanner.INVALID == value) {
+            Instrumentation.count(MetricsEvent.PHONE_NUMBER_PARSE_FAILURE);
+        }
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("PMD.NullAssignment")
+    public String print(final PhoneNumber phoneNumber, final Locale locale) {
+        String result = null;
+        if (null != phoneNumber) {
+            if (e164 && isDefined(phoneNumber)) {
+                final char[] characters = new char[12];
+                characters[0] = '+';
+                characters[1] = '1';
+                Digits.write(phoneNumber.toLong(), characters, 2, 10);
+                result = new String(characters);
+            } else {
+                result = phoneNumber.toString();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Writes given phone number into given target, in the form determined by this instance, without creating any
+     * intermediate strings.
+     *
+     * @param phoneNumber the phone number to write (nothing is written if it is {@code null})
+     * @param target the target to write into
+     * @return the target
+     * @throws IOException if the target raises it
+     */
+    public Appendable printTo(@CheckForNull final PhoneNumber phoneNumber, @Nonnull final Appendable target)
+        throws IOException {
+        Preconditions.checkNotNull(target, "Target cannot be null.");
+        if (null != phoneNumber) {
+            if (e164 && isDefined(phoneNumber)) {
+                target.append('+').append('1');
+                Digits.append(target, phoneNumber.toLong(), 10);
+            } else {
+                phoneNumber.printTo(target);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Parses given text as phone number, without raising any exception when it is invalid.
+     *
+     * <p>
+     *     Intended for the hot loops processing large amount of possibly invalid data, where the cost of creating
+     *     {@link ParseException} (and filling its stack trace) for each invalid row is not acceptable.
+     * </p>
+     *
+     * @param text the text to parse (may be {@code null})
+     * @return phone number represented by given text, or {@code null} if text is {@code null} or is not a valid phone
+     *         number representation
+     */
+    @CheckForNull
+    @SuppressWarnings("PMD.NullAssignment")
+    public PhoneNumber tryParse(@CheckForNull final CharSequence text) {
+        final long value = (null == text) ? PhoneNumberScanner.INVALID : parseValue(text, 0, text.length());
+        return (PhoneNumberScanner.INVALID == value) ? null : create(value);
+    }
+
+    /**
+     * Parses given text range as phone number, without copying it, and without raising any exception when it is
+     * invalid.
+     *
+     * @param text the text to parse
+     * @param start index of the first character to parse (inclusive)
+     * @param end index of the last character to parse (exclusive)
+     * @return phone number represented by given text range, or {@code null} if it is not a valid phone number
+     *         representation
+     */
+    @CheckForNull
+    @SuppressWarnings("PMD.NullAssignment")
+    public PhoneNumber tryParse(@Nonnull final CharSequence text, final int start, final int end) {
+        Preconditions.checkPositionIndexes(start, end, text.length());
+        final long value = parseValue(text, start, end);
+        return (PhoneNumberScanner.INVALID == value) ? null : create(value);
+    }
+
+    /**
+     * Parses given text range as packed phone number, without raising any exception when it is invalid, and without
+     * allocating any objects.
+     *
+     * @param text the text to parse
+     * @param start index of the first character to parse (inclusive)
+     * @param end index of the last character to parse (exclusive)
+     * @return packed phone number ({@link PhoneNumber#toLong()}), or {@link #INVALID} if given range is not a valid
+     *         phone number representation
+     * @throws IndexOutOfBoundsException if given range is not within the text
+     */
+    public long tryParseAsLong(@Nonnull final CharSequence text, final int start, final int end) {
+        Preconditions.checkPositionIndexes(start, end, text.length());
+        return parseValue(text, start, end);
+    }
+
+}
@@ -0,0 +1,286 @@
+package pl.ais.commons.domain.phone;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Immutable, sorted index of distinct phone numbers, keeping them packed ({@link PhoneNumber#toLong()}) into primitive
+ * {@code long} array.
+ *
+ * <p>
+ *     Because packed phone numbers sharing the area code (NPA), or the area and exchange codes (NPA-NXX), form single
+ *     contiguous range of the sorted array, the prefix queries ({@link #withAreaCode(int)},
+ *     {@link #withExchange(int, int)}) are answered by two binary searches, in {@code O(log n)} time, and provide
+ *     sub-index sharing the array of this one. Sub-index may be counted, streamed or iterated over without creating
+ *     any {@link PhoneNumber} instances.
+ * </p>
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@Immutable
+public final class PhoneNumberIndex {
+
+    private static final long AREA_MODULUS = 10000000L;
+
+    private static final PhoneNumberIndex EMPTY = new PhoneNumberIndex(new long[0], 0, 0);
+
+    private static final long EXCHANGE_MODULUS = 10000L;
+
+    private final int end;
+
+    private final long[] numbers;
+
+    private final int start;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param numbers distinct packed phone numbers, in ascending order
+     * @param start index of the first number belonging to this index (inclusive)
+     * @param end index of the last number belonging to this index (exclusive)
+     */
+    private PhoneNumberIndex(final long[] numbers, final int start, final int end) {
+        super();
+        this.numbers = numbers;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * @return new builder of the index
+     */
+    public static Builder builder() {
+        return new Builder(0);
+    }
+
+    /**
+     * @param expectedSize expected number of phone numbers added to the builder
+     * @return new builder of the index
+     */
+    public static Builder builder(final int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    /**
+     * Creates index of given packed phone numbers.
+     *
+     * @param numbers packed phone numbers (in any order, possibly repeated)
+     * @return index of given phone numbers
+     * @throws IllegalArgumentException if any of the numbers is not a valid packed phone number
+     */
+    public static PhoneNumberIndex of(@Nonnull final long... numbers) {
+        return builder(numbers.length).addAll(numbers).build();
+    }
+
+    private static void checkCode(final int code, final String name) {
+        Preconditions.checkArgument((code >= 0) && (code <= 999), "%s should have at most 3 digits.", name);
+    }
+
+    /**
+     * @param number packed phone number
+     * @return {@code true} if this index contains given phone number, {@code false} otherwise
+     */
+    public boolean contains(final long number) {
+        return Arrays.binarySearch(numbers, start, end, number) >= 0;
+    }
+
+    /**
+     * @param phoneNumber the phone number
+     * @return {@code true} if this index contains given phone number, {@code false} otherwise
+     */
+    public boolean contains(@Nonnull final PhoneNumber phoneNumber) {
+        return contains(phoneNumber.toLong());
+    }
+
+    /**
+     * @param areaCode the area code (NPA)
+     * @return number of phone numbers having given area code
+     */
+    public int countByAreaCode(final int areaCode) {
+        return withAreaCode(areaCode).size();
+    }
+
+    /**
+     * @param areaCode the area code (NPA)
+     * @param exchangeCode the exchange code (NXX)
+     * @return number of phone numbers having given area and exchange codes
+     */
+    public int countByExchange(final int areaCode, final int exchangeCode) {
+        return withExchange(areaCode, exchangeCode).size();
+    }
+
+    /**
+     * Feeds given consumer with the packed phone numbers held by this index, in ascending order.
+     *
+     * @param consumer the consumer
+     */
+    public void forEach(@Nonnull final LongConsumer consumer) {
+        for (int index = start; index < end; index++) {
+            consumer.accept(numbers[index]);
+        }
+    }
+
+    /**
+     * @param index index of the phone number, within this index
+     * @return packed phone number at given position
+     */
+    public long get(final int index) {
+        Preconditions.checkElementIndex(index, size());
+        return numbers[start + index];
+    }
+
+    /**
+     * @return {@code true} if this index holds no phone numbers, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return start == end;
+    }
+
+    private int lowerBound(final long number) {
+        final int position = Arrays.binarySearch(numbers, start, end, number);
+        return (position >= 0) ? position : -(position + 1);
+    }
+
+    private PhoneNumberIndex range(final long from, final long to) {
+        final int first = lowerBound(from);
+        final int last = lowerBound(to);
+        return (first == last) ? EMPTY : new PhoneNumberIndex(numbers, first, last);
+    }
+
+    /**
+     * @return number of phone numbers held by this index
+     */
+    public int size() {
+        return end - start;
+    }
+
+    /**
+     * @return stream of the packed phone numbers held by this index, in ascending order
+     */
+    public LongStream stream() {
+        return Arrays.stream(numbers, start, end);
+    }
+
+    /**
+     * @return packed phone numbers held by this index, in ascending order
+     */
+    public long[] toArray() {
+        return Arrays.copyOfRange(numbers, start, end);
+    }
+
+    /**
+     * Provides sub-index holding phone numbers having given area code, in {@code O(log n)} time.
+     *
+     * @param areaCode the area code (NPA)
+     * @return sub-index holding phone numbers having given area code
+     */
+    public PhoneNumberIndex withAreaCode(final int areaCode) {
+        checkCode(areaCode, "Area code");
+        final long from = areaCode * AREA_MODULUS;
+        return range(from, from + AREA_MODULUS);
+    }
+
+    /**
+     * Provides sub-index holding phone numbers having given area and exchange codes, in {@code O(log n)} time.
+     *
+     * @param areaCode the area code (NPA)
+     * @param exchangeCode the exchange code (NXX)
+     * @return sub-index holding phone numbers having given area and exchange codes
+     */
+    public PhoneNumberIndex withExchange(final int areaCode, final int exchangeCode) {
+        checkCode(areaCode, "Area code");
+        checkCode(exchangeCode, "Exchange code");
+        final long from = areaCode * AREA_MODULUS + exchangeCode * EXCHANGE_MODULUS;
+        return range(from, from + EXCHANGE_MODULUS);
+    }
+
+    /**
+     * Builder of {@link PhoneNumberIndex}, collecting the packed phone numbers in any order.
+     *
+     * <p>
+     *     Numbers are sorted (in parallel) and deduplicated once, when the index is built.
+     * </p>
+     */
+    @NotThreadSafe
+    public static final class Builder {
+
+        private long[] numbers;
+
+        private int size;
+
+        Builder(final int expectedSize) {
+            super();
+
+            // Verify constructor requirements, ...
+            Preconditions.checkArgument(expectedSize >= 0, "Expected size cannot be negative.");
+
+            // ... and initialize this instance fields.
+            this.numbers = new long[Math.max(expectedSize, 16)];
+        }
+
+        /**
+         * @param number packed phone number
+         * @return this builder
+         * @throws IllegalArgumentException if given number is not a valid packed phone number
+         */
+        public Builder add(final long number) {
+            Preconditions.checkArgument((number >= 0) && (number <= PhoneNumber.MAX_VALUE),
+                "Provided value: '%s' is not a valid representation of the phone number.", number);
+            if (size == numbers.length) {
+                numbers = Arrays.copyOf(numbers, size + (size >> 1));
+            }
+            numbers[size++] = number;
+            return this;
+        }
+
+        /**
+         * @param phoneNumber the phone number
+         * @return this builder
+         * @throws IllegalArgumentException if given phone number has no components
+         */
+        public Builder add(@Nonnull final PhoneNumber phoneNumber) {
+            return add(phoneNumber.toLong());
+        }
+
+        /**
+         * @param packedNumbers packed phone numbers
+         * @return this builder
+         * @throws IllegalArgumentException if any of given numbers is not a valid packed phone number
+         */
+        public Builder addAll(@Nonnull final long... packedNumbers) {
+            if (size + packedNumbers.length > numbers.length) {
+                numbers = Arrays.copyOf(numbers, Math.max(size + packedNumbers.length, size + (size >> 1)));
+            }
+            for (final long number : packedNumbers) {
+                add(number);
+            }
+            return this;
+        }
+
+        /**
+         * @return index of the phone numbers added so far
+         */
+        public PhoneNumberIndex build() {
+            final long[] sorted = Arrays.copyOf(numbers, size);
+            Arrays.parallelSort(sorted);
+            int distinctCount = 0;
+            for (int index = 0; index < sorted.length; index++) {
+                if ((0 == distinctCount) || (sorted[index] != sorted[distinctCount - 1])) {
+                    sorted[distinctCount++] = sorted[index];
+                }
+            }
+            final long[] distinct = (distinctCount == sorted.length) ? sorted : Arrays.copyOf(sorted, distinctCount);
+            return (0 == distinctCount) ? EMPTY : new PhoneNumberIndex(distinct, 0, distinctCount);
+        }
+
+    }
+
+}
@@ -0,0 +1,165 @@
+package pl.ais.commons.domain.phone;
+
+/**
+ * Single-pass, allocation-free scanner recognizing textual representations of the NANP phone numbers.
+ *
+ * <p>
+ *     Recognizes the phone numbers written as: {@code (212) 555-1234}, {@code 212.555.1234}, {@code 212-555-1234},
+ *     {@code 2125551234}, {@code +1 212 555 1234} or {@code 1-212-555-1234}. More precisely, it accepts optional country
+ *     code ({@code +1} or {@code 1}, unambiguous because no area code starts with {@code 1}), followed by the area code
+ *     (optionally enclosed in parentheses), exchange code and subscriber number, each group except the last one
+ *     optionally followed by single separator (space, hyphen or dot).
+ * </p>
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+final class PhoneNumberScanner {
+
+    /**
+     * Value returned by the scanning methods when provided text is not a valid phone number representation.
+     */
+    static final long INVALID = -1L;
+
+    private static final int START = 0;
+
+    private static final int PLUS = 1;
+
+    private static final int COUNTRY_CODE = 2;
+
+    private static final int AREA_EXPECTED = 3;
+
+    private static final int AREA_OPENED = 4;
+
+    private static final int AREA_CLOSING = 5;
+
+    private static final int AREA_DONE = 6;
+
+    private static final int EXCHANGE_EXPECTED = 7;
+
+    private static final int EXCHANGE_DONE = 8;
+
+    private static final int SUBSCRIBER_EXPECTED = 9;
+
+    private static final int COMPLETE = 10;
+
+    private static final int REJECTED = 11;
+
+    // States below consume the digits belonging to the phone number, and should remain the greatest ones.
+
+    private static final int AREA = 12;
+
+    private static final int AREA_PARENTHESIZED = 13;
+
+    private static final int EXCHANGE = 14;
+
+    private static final int SUBSCRIBER = 15;
+
+    private PhoneNumberScanner() {
+        super();
+    }
+
+    private static int begin(final char character) {
+        int result = beginArea(character);
+        if ('+' == character) {
+            result = PLUS;
+        } else if ('1' == character) {
+            result = COUNTRY_CODE;
+        }
+        return result;
+    }
+
+    private static int beginArea(final char character) {
+        return ('(' == character) ? AREA_OPENED : digit(character, AREA);
+    }
+
+    private static int digit(final char character, final int next) {
+        return isDigit(character) ? next : REJECTED;
+    }
+
+    private static boolean isDigit(final char character) {
+        return (character >= '0') && (character <= '9');
+    }
+
+    private static boolean isSeparator(final char character) {
+        return (' ' == character) || ('-' == character) || ('.' == character);
+    }
+
+    /**
+     * Scans given text range as phone number.
+     *
+     * @param text the text to scan
+     * @param start index of the first character to scan (inclusive)
+     * @param end index of the last character to scan (exclusive)
+     * @return phone number digits as 10-digit number (area code, exchange code and subscriber number), or
+     *         {@link #INVALID} if given range is not a valid phone number representation
+     */
+    @SuppressWarnings({"PMD.CyclomaticComplexity", "PMD.ModifiedCyclomaticComplexity",
+        "PMD.StdCyclomaticComplexity"})
+    static long scan(final CharSequence text, final int start, final int end) {
+        long value = 0;
+        int digits = 0;
+        int state = START;
+        for (int index = start; (REJECTED != state) && (index < end); index++) {
+            final char character = text.charAt(index);
+
+            // Determine the next state, ...
+            switch (state) {
+                case START:
+                    state = begin(character);
+                    break;
+                case PLUS:
+                    state = ('1' == character) ? COUNTRY_CODE : REJECTED;
+                    break;
+                case COUNTRY_CODE:
+                    state = isSeparator(character) ? AREA_EXPECTED : beginArea(character);
+                    break;
+                case AREA_EXPECTED:
+                    state = beginArea(character);
+                    break;
+                case AREA_OPENED:
+                    state = digit(character, AREA_PARENTHESIZED);
+                    break;
+                case AREA_CLOSING:
+                    state = (')' == character) ? AREA_DONE : REJECTED;
+                    break;
+                case AREA_DONE:
+                    state = isSeparator(character) ? EXCHANGE_EXPECTED : digit(character, EXCHANGE);
+                    break;
+                case EXCHANGE_EXPECTED:
+                    state = digit(character, EXCHANGE);
+                    break;
+                case EXCHANGE_DONE:
+                    state = isSeparator(character) ? SUBSCRIBER_EXPECTED : digit(character, SUBSCRIBER);
+                    break;
+                case SUBSCRIBER_EXPECTED:
+                    state = digit(character, SUBSCRIBER);
+                    break;
+                case AREA:
+                case AREA_PARENTHESIZED:
+                case EXCHANGE:
+                case SUBSCRIBER:
+                    state = digit(character, state);
+                    break;
+                default:
+                    state = REJECTED;
+                    break;
+            }
+
+            // ... and if the character is one of phone number digits, accumulate it, and close the group if complete.
+            if (state >= AREA) {
+                value = value * 10 + (character - '0');
+                digits++;
+                if (3 == digits) {
+                    state = (AREA == state) ? AREA_DONE : AREA_CLOSING;
+                } else if (6 == digits) {
+                    state = EXCHANGE_DONE;
+                } else if (10 == digits) {
+                    state = COMPLETE;
+                }
+            }
+        }
+        return (COMPLETE == state) ? value : INVALID;
+    }
+
+}
@@ -0,0 +1,242 @@
+package pl.ais.commons.domain.ssn;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+
+import pl.ais.commons.domain.stereotype.DomainService;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Asynchronous counterpart of {@link SocialSecurityNumberFactory}, intended for the encryptors calling remote
+ * services (such as key management service) and blocking for a while.
+ *
+ * <p>
+ *     Encryptions (and decryptions) are run by the given executor, but no more than {@code maxInFlight} of them at
+ *     once, the remaining ones wait in the queue without occupying any thread. Each operation not completed within
+ *     the timeout fails with {@link TimeoutException}; note, that the operation itself is not interrupted, and still
+ *     counts as being in flight until it returns.
+ * </p>
+ *
+ * <p>
+ *     Dispatching is not reentrant: the thread completing an operation keeps pulling the queued ones in a loop, thus
+ *     the executors running the operations on the calling thread (such as {@code MoreExecutors.directExecutor()}, or
+ *     the ones using {@code CallerRunsPolicy}) don't grow the stack with each queued operation.
+ * </p>
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@DomainService
+public final class AsyncSocialSecurityNumberFactory {
+
+    /**
+     * Marks the threads currently dispatching the operations of this instance.
+     */
+    private final ThreadLocal<Boolean> dispatching = new ThreadLocal<>();
+
+    private final Executor executor;
+
+    private final SocialSecurityNumberFactory factory;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final int maxInFlight;
+
+    private final Queue<Operation<?>> pending = new ConcurrentLinkedQueue<>();
+
+    private final long timeoutNanos;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param factory the factory used for creating SSNs
+     * @param executor the executor running encryptions and decryptions
+     * @param maxInFlight maximal number of encryptions and decryptions run at once
+     * @param timeout maximal time of single encryption or decryption, including the time spent in the queue
+     *        ({@code 0} means no timeout)
+     * @param unit unit of the timeout
+     */
+    public AsyncSocialSecurityNumberFactory(@Nonnull final SocialSecurityNumberFactory factory,
+        @Nonnull final Executor executor, final int maxInFlight, final long timeout, @Nonnull final TimeUnit unit) {
+        super();
+
+        // Verify constructor requirements, ...
+        Preconditions.checkNotNull(factory, "Factory cannot be null.");
+        Preconditions.checkNotNull(executor, "Executor cannot be null.");
+        Preconditions.checkArgument(maxInFlight > 0, "Maximal number of operations in flight should be positive.");
+        Preconditions.checkArgument(timeout >= 0, "Timeout cannot be negative.");
+        Preconditions.checkNotNull(unit, "Timeout unit cannot be null.");
+
+        // ... and initialize this instance fields.
+        this.factory = factory;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.timeoutNanos = unit.toNanos(timeout);
+    }
+
+    /**
+     * Creates new Social Security Number asynchronously.
+     *
+     * @param areaNumber the area number
+     * @param groupNumber the group number
+     * @param serialNumber the serial number
+     * @return future completed with newly created Social Security Number, or exceptionally if SSN components are
+     *         invalid, encryption fails or times out
+     * @see SocialSecurityNumberFactory#createSocialSecurityNumber(String, String, String)
+     */
+    public CompletableFuture<SocialSecurityNumber> createSocialSecurityNumber(final String areaNumber,
+        final String groupNumber, final String serialNumber) {
+        return submit(() -> factory.createSocialSecurityNumber(areaNumber, groupNumber, serialNumber));
+    }
+
+    /**
+     * Decrypts and decomposes given Social Security Number asynchronously, thus its components are available
+     * afterwards without blocking.
+     *
+     * @param ssn the SSN to decrypt
+     * @return future completed with given SSN when it is decrypted, or exceptionally if decryption fails or times out
+     */
+    public CompletableFuture<SocialSecurityNumber> decrypt(@Nonnull final SocialSecurityNumber ssn) {
+        Preconditions.checkNotNull(ssn, "SSN cannot be null.");
+        return submit(() -> {
+            ssn.getAreaNumber();
+            return ssn;
+        });
+    }
+
+    /**
+     * Runs the queued operations, as long as the number of operations in flight allows it.
+     *
+     * <p>
+     *     If current thread is already dispatching (because the executor runs the operations on the calling thread),
+     *     this method returns immediately, and the outer dispatching loop pulls the remaining operations.
+     * </p>
+     */
+    private void dispatch() {
+        if (null == dispatching.get()) {
+            dispatching.set(Boolean.TRUE);
+            try {
+                int current = inFlight.get();
+                while (!pending.isEmpty() && (current < maxInFlight)) {
+                    if (inFlight.compareAndSet(current, current + 1)) {
+                        execute(pending.poll());
+                    }
+                    current = inFlight.get();
+                }
+            } finally {
+                dispatching.remove();
+            }
+        }
+    }
+
+    private void execute(final Operation<?> operation) {
+        if (null == operation) {
+            inFlight.decrementAndGet();
+        } else {
+            try {
+                executor.execute(operation);
+            } catch (RejectedExecutionException exception) {
+                inFlight.decrementAndGet();
+                operation.result.completeExceptionally(exception);
+            }
+        }
+    }
+
+    /**
+     * @return number of the operations currently run
+     */
+    public int getInFlightCount() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return number of the operations waiting in the queue
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private <T> CompletableFuture<T> submit(final Supplier<T> supplier) {
+        final Operation<T> operation = new Operation<>(supplier);
+        if (timeoutNanos > 0) {
+            final ScheduledFuture<?> timer = Timeouts.SCHEDULER.schedule(() -> operation.result.completeExceptionally(
+                new TimeoutException("SSN operation timed out.")), timeoutNanos, TimeUnit.NANOSECONDS);
+            operation.result.whenComplete((value, failure) -> timer.cancel(false));
+        }
+        pending.add(operation);
+        dispatch();
+        return operation.result;
+    }
+
+    /**
+     * Single encryption or decryption, run by the executor.
+     *
+     * @param <T> type of the operation result
+     */
+    private final class Operation<T> implements Runnable {
+
+        final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private final Supplier<T> supplier;
+
+        Operation(final Supplier<T> supplier) {
+            this.supplier = supplier;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>
+         *     Any failure, including {@link Error}, completes the result exceptionally, thus the result is always
+         *     completed, even if no timeout is set.
+         * </p>
+         */
+        @Override
+        @SuppressWarnings("PMD.AvoidCatchingThrowable")
+        public void run() {
+            try {
+                if (!result.isDone()) {
+                    result.complete(supplier.get());
+                }
+            } catch (Throwable failure) {
+                result.completeExceptionally(failure);
+            } finally {
+                inFlight.decrementAndGet();
+                dispatch();
+            }
+        }
+
+    }
+
+    /**
+     * Holds the scheduler of the timeouts, created when first needed.
+     */
+    private static final class Timeouts {
+
+        static final ScheduledThreadPoolExecutor SCHEDULER = new ScheduledThreadPoolExecutor(1,
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ssn-timeouts-%d").build());
+
+        static {
+            SCHEDULER.setRemoveOnCancelPolicy(true);
+        }
+
+        private Timeouts() {
+            super();
+        }
+
+    }
+
+}
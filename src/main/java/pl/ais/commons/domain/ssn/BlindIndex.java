@@ -0,0 +1,92 @@
+package pl.ais.commons.domain.ssn;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import pl.ais.commons.domain.stereotype.ValueObject;
+
+import com.google.common.base.Preconditions;
+import com.google.common.io.BaseEncoding;
+
+/**
+ * Blind index of the Social Security Number - keyed digest of its digits, allowing equality checks and hash joins of
+ * the encrypted SSNs without decrypting them.
+ *
+ * @see SocialSecurityNumberBlindIndexer
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@Immutable
+@ValueObject
+public final class BlindIndex implements Serializable {
+
+    private static final long serialVersionUID = 4731286201465508623L;
+
+    private final byte[] digest;
+
+    private BlindIndex(final byte[] digest) {
+        super();
+        this.digest = digest;
+    }
+
+    /**
+     * Creates blind index from its digest (as persisted along with the encrypted SSN, for example).
+     *
+     * @param digest the digest
+     * @return blind index having given digest
+     */
+    public static BlindIndex of(@Nonnull final byte[] digest) {
+        Preconditions.checkNotNull(digest, "Digest cannot be null.");
+        Preconditions.checkArgument(digest.length > 0, "Digest cannot be empty.");
+        return new BlindIndex(digest.clone());
+    }
+
+    /**
+     * Wraps given digest, without copying it.
+     *
+     * @param digest the digest (shouldn't be modified afterwards)
+     * @return blind index having given digest
+     */
+    static BlindIndex wrap(final byte[] digest) {
+        return new BlindIndex(digest);
+    }
+
+    /**
+     * @see java.lang.Object#equals(java.lang.Object)
+     */
+    @Override
+    public boolean equals(final Object object) {
+        boolean result = (this == object);
+        if (!result && (null != object) && (getClass() == object.getClass())) {
+            result = Arrays.equals(digest, ((BlindIndex) object).digest);
+        }
+        return result;
+    }
+
+    /**
+     * @see java.lang.Object#hashCode()
+     */
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(digest);
+    }
+
+    /**
+     * @return copy of the digest
+     */
+    public byte[] toByteArray() {
+        return digest.clone();
+    }
+
+    /**
+     * @return digest as lowercase hexadecimal string
+     */
+    @Override
+    public String toString() {
+        return BaseEncoding.base16().lowerCase().encode(digest);
+    }
+
+}
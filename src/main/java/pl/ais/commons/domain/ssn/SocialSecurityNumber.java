@@ -1,11 +1,18 @@
 package pl.ais.commons.domain.ssn;
 
+import java.io.IOException;
 import java.io.Serializable;
 
+import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
+import pl.ais.commons.domain.metrics.Instrumentation;
+import pl.ais.commons.domain.metrics.MetricsEvent;
+import pl.ais.commons.domain.metrics.MetricsListener;
 import pl.ais.commons.domain.security.DecryptableValue;
 import pl.ais.commons.domain.stereotype.ValueObject;
+import pl.ais.commons.domain.text.Digits;
 
 import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
@@ -18,6 +25,12 @@ import com.google.common.base.Preconditions;
  *     is serializable too.
  * </p>
  *
+ * <p>
+ *     Masked printing revealing the serial number is available in-process only, for SSNs created by
+ *     {@link SocialSecurityNumberFactory} recording the serial number projection. The projection is never serialized,
+ *     thus deserialized SSNs are always printed fully masked ({@code ***-**-****}).
+ * </p>
+ *
  * @see <a href="http://www.ssa.gov/history/ssn/geocard.html">The SSN Numbering Scheme</a>
  * @see <a href="http://en.wikipedia.org/wiki/Social_Security_number">Social Security Number</a>
  * @author Warlock, AIS.PL
@@ -34,14 +47,49 @@ public final class SocialSecurityNumber implements Serializable {
      */
     private static final long serialVersionUID = -8790247953875775970L;
 
-    private transient String areaNumber;
+    /**
+     * Flag marking {@link #decomposed} as holding decrypted SSN digits, 9-digit numbers never have this bit set.
+     */
+    private static final int DECOMPOSED = 1 << 30;
+
+    private static final int AREA_MODULUS = 1000000;
 
-    private transient String groupNumber;
+    private static final int GROUP_MODULUS = 10000;
 
-    private final DecryptableValue<String> representation;
+    /**
+     * Flag marking {@link #lastFour} as holding the serial number, 4-digit numbers never have this bit set.
+     */
+    private static final int PROJECTED = 1 << 14;
 
+    /**
+     * Masked representation of the SSN, used when its serial number projection is not available.
+     */
+    private static final String FULLY_MASKED = "***-**-****";
+
+    /**
+     * Decrypted SSN digits packed into single {@code int} (area, group and serial numbers), marked with
+     * {@link #DECOMPOSED} flag, or {@code 0} if SSN was not decrypted yet.
+     */
     @SuppressWarnings("PMD.AvoidUsingVolatile")
-    private transient volatile String serialNumber;
+    private transient volatile int decomposed;
+
+    private final BlindIndex blindIndex;
+
+    private final transient SocialSecurityNumberCache cache;
+
+    /**
+     * Serial number (last 4 digits) projection, marked with {@link #PROJECTED} flag, or {@code 0} if it was not
+     * recorded when creating this SSN.
+     *
+     * <p>
+     *     Projection is cleartext part of the SSN, recorded only if the factory was explicitly configured so
+     *     ({@link SocialSecurityNumberFactory.Builder#projecting(boolean)}), thus it is kept in-process only and never
+     *     becomes part of the serialized form (deserialized SSN is printed fully masked).
+     * </p>
+     */
+    private final transient int lastFour;
+
+    private final DecryptableValue<String> representation;
 
     /**
      * Constructs new instance.
@@ -49,6 +97,19 @@ public final class SocialSecurityNumber implements Serializable {
      * @param representation encrypted SSN representation
      */
     public SocialSecurityNumber(@Nonnull final DecryptableValue<String> representation) {
+        this(representation, null, null, 0);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param representation encrypted SSN representation
+     * @param cache cache of decrypted SSNs which should be used by this instance (may be {@code null})
+     * @param blindIndex blind index of this SSN (may be {@code null})
+     * @param lastFour serial number projection (marked with {@link #PROJECTED} flag), or {@code 0}
+     */
+    SocialSecurityNumber(final DecryptableValue<String> representation, final SocialSecurityNumberCache cache,
+        final BlindIndex blindIndex, final int lastFour) {
         super();
 
         // Verify constructor requirements, ...
@@ -56,33 +117,79 @@ public final class SocialSecurityNumber implements Serializable {
 
         // ... and initialize this instance fields.
         this.representation = representation;
+        this.cache = cache;
+        this.blindIndex = blindIndex;
+        this.lastFour = lastFour;
+    }
+
+    /**
+     * @param value SSN value (9 digits)
+     * @return serial number projection of given SSN value, marked with {@link #PROJECTED} flag
+     */
+    static int project(final String value) {
+        int digits = 0;
+        for (int index = 5; index < 9; index++) {
+            digits = digits * 10 + (value.charAt(index) - '0');
+        }
+        return digits | PROJECTED;
+    }
+
+    private static int decompose(final String value) {
+
+        // Validate decrypted value, ...
+        if (9 != value.length()) {
+            throw new IllegalArgumentException("Decrypted SSN value has invalid length.");
+        }
+
+        // ... and decompose it.
+        int digits = 0;
+        for (int index = 0; index < 9; index++) {
+            final char character = value.charAt(index);
+            if ((character < '0') || (character > '9')) {
+                throw new IllegalArgumentException("Decrypted SSN value should consist of digits only.");
+            }
+            digits = digits * 10 + (character - '0');
+        }
+        return digits | DECOMPOSED;
     }
 
     /**
      * Decrypts and decomposes the SSN representation into area, group and serial numbers.
+     *
+     * <p>
+     *     Decomposition result is published through single volatile write, without any locking. Concurrent first
+     *     accesses may decrypt the representation more than once, but all of them publish the same digits. If this
+     *     instance was given {@link SocialSecurityNumberCache}, the representation is decrypted only if the cache
+     *     doesn't hold it already. Decryptions and cache hits are reported to {@link Instrumentation}.
+     * </p>
+     *
+     * @return decrypted SSN digits packed into single {@code int}
      */
-    @SuppressWarnings("PMD.AvoidDeeplyNestedIfStmts")
-    private void decomposeIfNeeded() {
-        String decomposed = serialNumber;
-        if (null == decomposed) {
-            synchronized (this) {
-                decomposed = serialNumber;
-                if (null == decomposed) {
-                    // Decrypt SSN, ...
-                    final String value = representation.decrypt();
-
-                    // ... validate decrypted value, ...
-                    if (9 != value.length()) {
-                        throw new IllegalArgumentException("Decrypted SSN value has invalid length.");
-                    }
-
-                    // ... and decompose it.
-                    areaNumber = value.substring(0, 3);
-                    groupNumber = value.substring(3, 5);
-                    serialNumber = value.substring(5, 9);
+    private int decomposeIfNeeded() {
+        int result = decomposed;
+        if (0 == result) {
+            if (null != cache) {
+                result = cache.lookup(representation);
+            }
+            if (0 == result) {
+                final MetricsListener listener = Instrumentation.listener();
+                final long start = Instrumentation.start(listener);
+                final String value;
+                try {
+                    value = representation.decrypt();
+                } finally {
+                    Instrumentation.stop(listener, MetricsEvent.SSN_DECRYPT, start);
                 }
+                result = decompose(value);
+                if (null != cache) {
+                    cache.store(representation, result);
+                }
+            } else {
+                Instrumentation.count(MetricsEvent.SSN_CACHE_HIT);
             }
+            decomposed = result;
         }
+        return result & ~DECOMPOSED;
     }
 
     /**
@@ -103,8 +210,16 @@ public final class SocialSecurityNumber implements Serializable {
      */
     @Nonnull
     public String getAreaNumber() {
-        decomposeIfNeeded();
-        return areaNumber;
+        return Digits.format(decomposeIfNeeded() / AREA_MODULUS, 3);
+    }
+
+    /**
+     * @return blind index of this SSN, allowing equality checks and hash joins without decryption, or {@code null} if
+     *         it was not computed
+     */
+    @CheckForNull
+    public BlindIndex getBlindIndex() {
+        return blindIndex;
     }
 
     /**
@@ -112,8 +227,7 @@ public final class SocialSecurityNumber implements Serializable {
      */
     @Nonnull
     public String getGroupNumber() {
-        decomposeIfNeeded();
-        return groupNumber;
+        return Digits.format(decomposeIfNeeded() / GROUP_MODULUS % 100, 2);
     }
 
     /**
@@ -128,8 +242,7 @@ public final class SocialSecurityNumber implements Serializable {
      */
     @Nonnull
     public String getSerialNumber() {
-        decomposeIfNeeded();
-        return serialNumber;
+        return Digits.format(decomposeIfNeeded() % GROUP_MODULUS, 4);
     }
 
     /**
@@ -140,6 +253,71 @@ public final class SocialSecurityNumber implements Serializable {
         return representation.hashCode();
     }
 
+    /**
+     * Writes masked representation of this SSN ({@code ***-**-1234}) into given target, without decrypting it and
+     * without creating any intermediate strings.
+     *
+     * @param target the target to write into
+     * @return the target
+     * @throws IOException if the target raises it
+     * @see #toMaskedString()
+     */
+    public Appendable printMaskedTo(@Nonnull final Appendable target) throws IOException {
+        if (0 == lastFour) {
+            target.append(FULLY_MASKED);
+        } else {
+            target.append(FULLY_MASKED, 0, FULLY_MASKED.length() - 4);
+            Digits.append(target, lastFour & ~PROJECTED, 4);
+        }
+        return target;
+    }
+
+    /**
+     * Writes this SSN ({@code 123-45-6789}) into given target, decrypting it if needed, but without creating any
+     * intermediate strings.
+     *
+     * @param target the target to write into
+     * @return the target
+     * @throws IOException if the target raises it
+     */
+    public Appendable printTo(@Nonnull final Appendable target) throws IOException {
+        final int digits = decomposeIfNeeded();
+        Digits.append(target, digits / AREA_MODULUS, 3);
+        target.append('-');
+        Digits.append(target, digits / GROUP_MODULUS % 100, 2);
+        target.append('-');
+        Digits.append(target, digits % GROUP_MODULUS, 4);
+        return target;
+    }
+
+    /**
+     * Writes this SSN ({@code 123-45-6789}) into given builder, decrypting it if needed, but without creating any
+     * intermediate strings.
+     *
+     * @param target the builder to write into
+     * @return the builder
+     */
+    public StringBuilder printTo(@Nonnull final StringBuilder target) {
+        return Digits.printTo(target, this::printTo);
+    }
+
+    /**
+     * Provides masked representation of this SSN ({@code ***-**-1234}), without decrypting it.
+     *
+     * @return masked representation revealing the serial number, if it was recorded when creating this SSN (within
+     *         this process), or {@code ***-**-****} otherwise
+     */
+    @Nonnull
+    public String toMaskedString() {
+        String result = FULLY_MASKED;
+        if (0 != lastFour) {
+            final char[] characters = FULLY_MASKED.toCharArray();
+            Digits.write(lastFour & ~PROJECTED, characters, characters.length - 4, 4);
+            result = new String(characters);
+        }
+        return result;
+    }
+
     /**
      * @see java.lang.Object#toString()
      */
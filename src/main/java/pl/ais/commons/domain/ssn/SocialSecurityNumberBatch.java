@@ -0,0 +1,117 @@
+package pl.ais.commons.domain.ssn;
+
+import java.util.BitSet;
+import java.util.SortedMap;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Result of creating Social Security Numbers in bulk.
+ *
+ * <p>
+ *     Holds Social Security Number created for each valid input row, and reports invalid rows, and the rows which
+ *     failed to be encrypted (along with the failure), by their index (within the input), so neither single invalid
+ *     row nor single encryption failure aborts the whole batch.
+ * </p>
+ *
+ * @see SocialSecurityNumberFactory#createSocialSecurityNumbers(java.util.List, java.util.concurrent.ExecutorService, int)
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@Immutable
+public final class SocialSecurityNumberBatch {
+
+    private final SortedMap<Integer, RuntimeException> failures;
+
+    private final BitSet invalidRows;
+
+    private final SocialSecurityNumber[] ssns;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param ssns SSN created for each row ({@code null} for invalid and failed rows)
+     * @param invalidRows indexes of the invalid rows
+     * @param failures failures of the rows which failed to be encrypted, by their index
+     */
+    SocialSecurityNumberBatch(final SocialSecurityNumber[] ssns, final BitSet invalidRows,
+        final SortedMap<Integer, RuntimeException> failures) {
+        super();
+        this.ssns = ssns;
+        this.invalidRows = invalidRows;
+        this.failures = failures;
+    }
+
+    /**
+     * @param index index of the input row
+     * @return SSN created for given row, or {@code null} if the row is invalid, or failed to be encrypted
+     */
+    @CheckForNull
+    public SocialSecurityNumber get(final int index) {
+        return ssns[index];
+    }
+
+    /**
+     * @return number of valid rows which failed to be encrypted
+     */
+    public int getFailedCount() {
+        return failures.size();
+    }
+
+    /**
+     * @return indexes of the valid rows which failed to be encrypted, in ascending order
+     */
+    public int[] getFailedIndexes() {
+        final int[] result = new int[failures.size()];
+        int position = 0;
+        for (final Integer index : failures.keySet()) {
+            result[position++] = index;
+        }
+        return result;
+    }
+
+    /**
+     * @param index index of the input row
+     * @return failure of given row encryption, or {@code null} if the row is invalid, or was encrypted successfully
+     */
+    @CheckForNull
+    public RuntimeException getFailure(final int index) {
+        return failures.get(index);
+    }
+
+    /**
+     * @return number of invalid rows
+     */
+    public int getInvalidCount() {
+        return invalidRows.cardinality();
+    }
+
+    /**
+     * @return indexes of the invalid rows, in ascending order
+     */
+    public int[] getInvalidIndexes() {
+        final int[] result = new int[invalidRows.cardinality()];
+        int position = 0;
+        for (int index = invalidRows.nextSetBit(0); index >= 0; index = invalidRows.nextSetBit(index + 1)) {
+            result[position++] = index;
+        }
+        return result;
+    }
+
+    /**
+     * @param index index of the input row
+     * @return {@code true} if given row is valid, {@code false} otherwise
+     */
+    public boolean isValid(final int index) {
+        return !invalidRows.get(index);
+    }
+
+    /**
+     * @return number of rows in this batch (both valid and invalid)
+     */
+    public int size() {
+        return ssns.length;
+    }
+
+}
@@ -0,0 +1,109 @@
+package pl.ais.commons.domain.ssn;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.crypto.Mac;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Computes {@link BlindIndex} of the Social Security Numbers, as HMAC digest of their 9 digits.
+ *
+ * <p>
+ *     The key is supplied by the caller (and should be kept apart from the SSN encryption key), thus the same SSN
+ *     always has the same blind index within given key, while the index reveals nothing about the SSN to anyone not
+ *     knowing the key. {@link Mac} instances are not thread-safe, thus each thread uses its own one.
+ * </p>
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@ThreadSafe
+public final class SocialSecurityNumberBlindIndexer {
+
+    /**
+     * Default HMAC algorithm.
+     */
+    public static final String DEFAULT_ALGORITHM = "HmacSHA256";
+
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * Constructs new instance, using {@link #DEFAULT_ALGORITHM}.
+     *
+     * @param key the HMAC key
+     */
+    public SocialSecurityNumberBlindIndexer(@Nonnull final Key key) {
+        this(key, DEFAULT_ALGORITHM);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param key the HMAC key
+     * @param algorithm the HMAC algorithm
+     * @throws IllegalArgumentException if algorithm is not supported, or key is not applicable to it
+     */
+    public SocialSecurityNumberBlindIndexer(@Nonnull final Key key, @Nonnull final String algorithm) {
+        super();
+
+        // Verify constructor requirements, ...
+        Preconditions.checkNotNull(key, "Key cannot be null.");
+        Preconditions.checkNotNull(algorithm, "Algorithm cannot be null.");
+        try {
+            createMac(key, algorithm);
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalArgumentException("Unable to initialize " + algorithm + " with provided key.", exception);
+        }
+
+        // ... and initialize this instance fields.
+        this.macs = new ThreadLocal<Mac>() {
+
+            @Override
+            protected Mac initialValue() {
+                try {
+                    return createMac(key, algorithm);
+                } catch (GeneralSecurityException exception) {
+                    throw new IllegalStateException("Unable to initialize " + algorithm + ".", exception);
+                }
+            }
+
+        };
+    }
+
+    private static Mac createMac(final Key key, final String algorithm) throws GeneralSecurityException {
+        final Mac mac = Mac.getInstance(algorithm);
+        mac.init(key);
+        return mac;
+    }
+
+    /**
+     * Computes blind index of given SSN.
+     *
+     * @param ssn SSN as 9 digits, or formatted as {@code AAA-GG-SSSS}
+     * @return blind index of given SSN
+     * @throws IllegalArgumentException if given text is not a valid SSN representation
+     */
+    public BlindIndex indexOf(@Nonnull final CharSequence ssn) {
+        Preconditions.checkNotNull(ssn, "SSN cannot be null.");
+        final boolean formatted = (11 == ssn.length()) && ('-' == ssn.charAt(3)) && ('-' == ssn.charAt(6));
+        if (!formatted && (9 != ssn.length())) {
+            throw new IllegalArgumentException("SSN should consist of 9 digits.");
+        }
+        final byte[] digits = new byte[9];
+        int count = 0;
+        for (int index = 0; index < ssn.length(); index++) {
+            final char character = ssn.charAt(index);
+            if ((character >= '0') && (character <= '9')) {
+                digits[count++] = (byte) character;
+            } else if (!formatted || ((3 != index) && (6 != index))) {
+                throw new IllegalArgumentException("SSN should consist of 9 digits.");
+            }
+        }
+        return BlindIndex.wrap(macs.get().doFinal(digits));
+    }
+
+}
@@ -0,0 +1,120 @@
+package pl.ais.commons.domain.ssn;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+import pl.ais.commons.domain.security.DecryptableValue;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+
+/**
+ * Size-bounded cache of decrypted (and decomposed) Social Security Numbers, keyed by their encrypted representation.
+ *
+ * <p>
+ *     Allows {@link SocialSecurityNumber} instances sharing the same encrypted representation to decrypt it only once
+ *     (within configured time to live). Least recently used entries are evicted when the cache reaches its maximum
+ *     size. Decrypted digits are wiped as soon as the entry is evicted, expired or invalidated.
+ * </p>
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@ThreadSafe
+public final class SocialSecurityNumberCache {
+
+    private final Cache<DecryptableValue<String>, AtomicInteger> cache;
+
+    /**
+     * Constructs new instance.
+     *
+     * @param maximumSize maximum number of decrypted SSNs kept by this cache
+     * @param timeToLive period of time after which decrypted SSN is removed from this cache
+     * @param unit time unit of {@code timeToLive}
+     */
+    public SocialSecurityNumberCache(final long maximumSize, final long timeToLive, @Nonnull final TimeUnit unit) {
+        super();
+
+        // Verify constructor requirements, ...
+        Preconditions.checkArgument(maximumSize > 0, "Maximum size should be positive.");
+        Preconditions.checkArgument(timeToLive > 0, "Time to live should be positive.");
+        Preconditions.checkNotNull(unit, "Time unit cannot be null.");
+
+        // ... and initialize this instance fields.
+        this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterWrite(timeToLive, unit)
+                                 .removalListener(new Wiper()).recordStats().build();
+    }
+
+    /**
+     * Invalidates (and wipes) decrypted SSN having given representation.
+     *
+     * @param representation encrypted SSN representation
+     */
+    public void invalidate(@Nonnull final DecryptableValue<String> representation) {
+        cache.invalidate(representation);
+    }
+
+    /**
+     * Invalidates (and wipes) all decrypted SSNs.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * @param representation encrypted SSN representation
+     * @return decomposed SSN digits, or {@code 0} if there is no decrypted SSN having given representation
+     */
+    int lookup(final DecryptableValue<String> representation) {
+        final AtomicInteger digits = cache.getIfPresent(representation);
+        return (null == digits) ? 0 : digits.get();
+    }
+
+    /**
+     * @return approximate number of decrypted SSNs kept by this cache
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * @return statistics of this cache (hit, miss and eviction counts)
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * @param representation encrypted SSN representation
+     * @param digits decomposed SSN digits
+     */
+    void store(final DecryptableValue<String> representation, final int digits) {
+        cache.asMap().putIfAbsent(representation, new AtomicInteger(digits));
+    }
+
+    /**
+     * Wipes decrypted SSN digits removed from the cache.
+     */
+    private static final class Wiper implements RemovalListener<DecryptableValue<String>, AtomicInteger> {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onRemoval(final RemovalNotification<DecryptableValue<String>, AtomicInteger> notification) {
+            final AtomicInteger digits = notification.getValue();
+            if (null != digits) {
+                digits.set(0);
+            }
+        }
+
+    }
+
+}
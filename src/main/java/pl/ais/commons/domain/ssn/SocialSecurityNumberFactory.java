@@ -1,24 +1,68 @@
 package pl.ais.commons.domain.ssn;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
 
+import pl.ais.commons.domain.metrics.Instrumentation;
+import pl.ais.commons.domain.metrics.MetricsEvent;
+import pl.ais.commons.domain.metrics.MetricsListener;
 import pl.ais.commons.domain.security.CryptographicServiceSupport;
+import pl.ais.commons.domain.security.DecryptableValue;
 import pl.ais.commons.domain.stereotype.DomainService;
 
+import com.google.common.base.CharMatcher;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
 
 /**
  * Factory capable of creating {@link SocialSecurityNumber}.
  *
+ * <p>
+ *     Besides creating single SSN, the factory is able to create SSNs in bulk, validating all of them first, and then
+ *     encrypting the valid ones in chunks, in parallel. If {@link SocialSecurityNumberValidator} is given, SSNs not
+ *     conforming to the SSA rules are rejected before they are encrypted. If {@link SocialSecurityNumberBlindIndexer}
+ *     is given, blind index of each SSN is computed while it is still in plain text, and kept by the created SSN.
+ *     Similarly, if serial number projection is enabled (it is disabled by default), created SSNs keep their last 4
+ *     digits, allowing masked printing ({@link SocialSecurityNumber#toMaskedString()}) without decryption. These
+ *     optional collaborators are configured through {@link Builder} ({@link #builder(CryptographicServiceSupport)}).
+ * </p>
+ *
  * @author Warlock, AIS.PL
  * @since 1.0.1
  */
 @DomainService
 public final class SocialSecurityNumberFactory {
 
+    /**
+     * Default number of SSNs encrypted by single task when creating SSNs in bulk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    private transient SocialSecurityNumberCache cache;
+
     private transient CryptographicServiceSupport<String> encryptor;
 
+    private transient SocialSecurityNumberBlindIndexer indexer;
+
+    private transient boolean projecting;
+
+    private transient SocialSecurityNumberValidator validator;
+
     /**
      * Constructs new instance.
      */
@@ -41,6 +85,29 @@ public final class SocialSecurityNumberFactory {
         this.encryptor = encryptor;
     }
 
+    /**
+     * Constructs new instance, configured by given builder.
+     *
+     * @param builder the builder
+     */
+    private SocialSecurityNumberFactory(final Builder builder) {
+        this(builder.encryptor);
+        this.cache = builder.cache;
+        this.validator = builder.validator;
+        this.indexer = builder.indexer;
+        this.projecting = builder.projecting;
+    }
+
+    /**
+     * Provides builder of the factory, allowing to configure its optional collaborators.
+     *
+     * @param encryptor the encryptor which will be used for encrypting SSN
+     * @return new builder of the factory
+     */
+    public static Builder builder(@Nonnull final CryptographicServiceSupport<String> encryptor) {
+        return new Builder(encryptor);
+    }
+
     /**
      * Creates new Social Security Number.
      *
@@ -51,12 +118,324 @@ public final class SocialSecurityNumberFactory {
      */
     public SocialSecurityNumber createSocialSecurityNumber(
         final String areaNumber, final String groupNumber, final String serialNumber) {
-        final String value = Strings.nullToEmpty(areaNumber) + Strings.nullToEmpty(groupNumber)
-            + Strings.nullToEmpty(serialNumber);
-        if (9 != value.length()) {
+        return createSocialSecurityNumber(Strings.nullToEmpty(areaNumber) + Strings.nullToEmpty(groupNumber)
+            + Strings.nullToEmpty(serialNumber));
+    }
+
+    /**
+     * Creates new Social Security Number.
+     *
+     * @param value SSN value (9 digits - area, group and serial numbers concatenated)
+     * @return newly created Social Security Number
+     */
+    SocialSecurityNumber createSocialSecurityNumber(final String value) {
+        if (!isValid(value)) {
             throw new IllegalArgumentException("Invalid SSN components provided.");
         }
-        return new SocialSecurityNumber(encryptor.encrypt(value));
+        return create(value);
+    }
+
+    /**
+     * Creates new Social Security Number, without raising any exception when the value is invalid.
+     *
+     * @param value SSN value (9 digits - area, group and serial numbers concatenated), may be {@code null}
+     * @return newly created Social Security Number, or {@code null} if the value is {@code null}, is not 9 digits, or
+     *         is rejected by {@link SocialSecurityNumberValidator} (if the factory was given one)
+     */
+    @CheckForNull
+    @SuppressWarnings("PMD.NullAssignment")
+    public SocialSecurityNumber tryCreateSocialSecurityNumber(@CheckForNull final String value) {
+        return isValid(value) ? create(value) : null;
+    }
+
+    /**
+     * Restores Social Security Number from its encrypted representation (kept in the storage, for example), using
+     * {@link SocialSecurityNumberCache} of this factory (if any).
+     *
+     * @param representation encrypted SSN representation
+     * @return restored Social Security Number
+     */
+    public SocialSecurityNumber restoreSocialSecurityNumber(@Nonnull final DecryptableValue<String> representation) {
+        return restoreSocialSecurityNumber(representation, null);
+    }
+
+    /**
+     * Restores Social Security Number from its encrypted representation and blind index (kept in the storage, for
+     * example), using {@link SocialSecurityNumberCache} of this factory (if any).
+     *
+     * <p>
+     *     Serial number projection is never restored, thus restored SSNs are printed fully masked
+     *     ({@link SocialSecurityNumber#toMaskedString()}).
+     * </p>
+     *
+     * @param representation encrypted SSN representation
+     * @param blindIndex blind index of the SSN (may be {@code null})
+     * @return restored Social Security Number
+     */
+    public SocialSecurityNumber restoreSocialSecurityNumber(@Nonnull final DecryptableValue<String> representation,
+        @Nullable final BlindIndex blindIndex) {
+        return new SocialSecurityNumber(representation, cache, blindIndex, 0);
+    }
+
+    /**
+     * Creates new Social Security Numbers in bulk.
+     *
+     * <p>
+     *     All values are validated first, invalid ones are reported by {@link SocialSecurityNumberBatch}, and the valid
+     *     ones are encrypted in chunks of {@code chunkSize} values, each chunk being encrypted by separate task
+     *     submitted to the given executor. Rows which failed to be encrypted are reported by the batch too (along with
+     *     the failure), while the remaining rows are still encrypted.
+     * </p>
+     *
+     * @param values SSN values (9 digits each - area, group and serial numbers concatenated)
+     * @param executor the executor which will be used for encrypting SSN chunks
+     * @param chunkSize number of SSNs encrypted by single task
+     * @return batch holding newly created Social Security Numbers, and reporting the invalid and failed ones
+     * @throws InterruptedException if interrupted while waiting for the encryption to complete
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    public SocialSecurityNumberBatch createSocialSecurityNumbers(@Nonnull final List<String> values,
+        @Nonnull final ExecutorService executor, final int chunkSize) throws InterruptedException {
+
+        // Verify method requirements, ...
+        Preconditions.checkNotNull(values, "Values cannot be null.");
+        Preconditions.checkNotNull(executor, "Executor cannot be null.");
+        Preconditions.checkArgument(chunkSize > 0, "Chunk size should be positive.");
+
+        // ... validate all values, ...
+        final String[] rows = values.toArray(new String[values.size()]);
+        final BitSet invalidRows = new BitSet(rows.length);
+        final int[] validRows = new int[rows.length];
+        int validCount = 0;
+        for (int index = 0; index < rows.length; index++) {
+            if (isValid(rows[index])) {
+                validRows[validCount++] = index;
+            } else {
+                invalidRows.set(index);
+            }
+        }
+
+        // ... encrypt valid ones in chunks, ...
+        final SocialSecurityNumber[] ssns = new SocialSecurityNumber[rows.length];
+        final SortedMap<Integer, RuntimeException> failures = new ConcurrentSkipListMap<>();
+        final List<Callable<Void>> chunks = new ArrayList<>();
+        for (int start = 0; start < validCount; start += chunkSize) {
+            chunks.add(new EncryptionTask(rows, validRows, start, Math.min(start + chunkSize, validCount), ssns,
+                failures));
+        }
+        for (final Future<Void> chunk : executor.invokeAll(chunks)) {
+            awaitChunk(chunk);
+        }
+
+        // ... and provide the results.
+        return new SocialSecurityNumberBatch(ssns, invalidRows, failures);
+    }
+
+    /**
+     * Creates new Social Security Numbers in bulk, from given stream.
+     *
+     * <p>
+     *     As all values are validated before any of them is encrypted, the stream is collected first.
+     * </p>
+     *
+     * @param values SSN values (9 digits each - area, group and serial numbers concatenated)
+     * @param executor the executor which will be used for encrypting SSN chunks
+     * @param chunkSize number of SSNs encrypted by single task
+     * @return batch holding newly created Social Security Numbers (in the stream encounter order), and reporting the
+     *         invalid and failed ones
+     * @throws InterruptedException if interrupted while waiting for the encryption to complete
+     * @see #createSocialSecurityNumbers(List, ExecutorService, int)
+     */
+    public SocialSecurityNumberBatch createSocialSecurityNumbers(@Nonnull final Stream<String> values,
+        @Nonnull final ExecutorService executor, final int chunkSize) throws InterruptedException {
+        Preconditions.checkNotNull(values, "Values cannot be null.");
+        return createSocialSecurityNumbers(values.collect(Collectors.toList()), executor, chunkSize);
+    }
+
+    /**
+     * Creates new Social Security Numbers in bulk, encrypting them in chunks of {@link #DEFAULT_CHUNK_SIZE} values.
+     *
+     * @param values SSN values (9 digits each - area, group and serial numbers concatenated)
+     * @param executor the executor which will be used for encrypting SSN chunks
+     * @return batch holding newly created Social Security Numbers, and reporting the invalid and failed ones
+     * @throws InterruptedException if interrupted while waiting for the encryption to complete
+     * @see #createSocialSecurityNumbers(List, ExecutorService, int)
+     */
+    public SocialSecurityNumberBatch createSocialSecurityNumbers(@Nonnull final List<String> values,
+        @Nonnull final ExecutorService executor) throws InterruptedException {
+        return createSocialSecurityNumbers(values, executor, DEFAULT_CHUNK_SIZE);
+    }
+
+    private static void awaitChunk(final Future<Void> chunk) throws InterruptedException {
+        try {
+            chunk.get();
+        } catch (ExecutionException exception) {
+            Throwables.throwIfUnchecked(exception.getCause());
+            throw new IllegalStateException("Unable to encrypt SSN chunk.", exception.getCause());
+        }
+    }
+
+    @SuppressWarnings("PMD.NullAssignment")
+    private SocialSecurityNumber create(final String value) {
+        final BlindIndex blindIndex = (null == indexer) ? null : indexer.indexOf(value);
+        final MetricsListener listener = Instrumentation.listener();
+        final long start = Instrumentation.start(listener);
+        final DecryptableValue<String> representation;
+        try {
+            representation = encryptor.encrypt(value);
+        } finally {
+            Instrumentation.stop(listener, MetricsEvent.SSN_ENCRYPT, start);
+        }
+        return new SocialSecurityNumber(representation, cache, blindIndex,
+            projecting ? SocialSecurityNumber.project(value) : 0);
+    }
+
+    /**
+     * Verifies if given text range, being structurally valid SSN representation ({@code 000-00-0000} or
+     * {@code 000000000}), is accepted by {@link SocialSecurityNumberValidator} (if the factory was given one), without
+     * allocating any objects.
+     *
+     * @param text the text to verify
+     * @param start index of the first character to verify (inclusive)
+     * @param end index of the last character to verify (exclusive)
+     * @return {@code true} if given text range is accepted, {@code false} otherwise
+     */
+    boolean isAccepted(final CharSequence text, final int start, final int end) {
+        return (null == validator) || validator.isValid(text, start, end);
+    }
+
+    private boolean isValid(final String value) {
+        return (null != value) && (9 == value.length()) && CharMatcher.inRange('0', '9').matchesAllOf(value)
+            && ((null == validator) || validator.isValid(value));
+    }
+
+    /**
+     * Encrypts single chunk of the valid SSN values, recording the failure of each row which failed to be encrypted.
+     */
+    private final class EncryptionTask implements Callable<Void> {
+
+        private final int end;
+
+        private final SortedMap<Integer, RuntimeException> failures;
+
+        private final String[] rows;
+
+        private final SocialSecurityNumber[] ssns;
+
+        private final int start;
+
+        private final int[] validRows;
+
+        EncryptionTask(final String[] rows, final int[] validRows, final int start, final int end,
+            final SocialSecurityNumber[] ssns, final SortedMap<Integer, RuntimeException> failures) {
+            this.rows = rows;
+            this.validRows = validRows;
+            this.start = start;
+            this.end = end;
+            this.ssns = ssns;
+            this.failures = failures;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        @SuppressWarnings("PMD.AvoidCatchingGenericException")
+        public Void call() {
+            for (int position = start; position < end; position++) {
+                final int row = validRows[position];
+                try {
+                    ssns[row] = create(rows[row]);
+                } catch (RuntimeException exception) {
+                    failures.put(row, exception);
+                }
+            }
+            return null;
+        }
+
+    }
+
+    /**
+     * Builder of {@link SocialSecurityNumberFactory}.
+     */
+    @NotThreadSafe
+    public static final class Builder {
+
+        private SocialSecurityNumberCache cache;
+
+        private final CryptographicServiceSupport<String> encryptor;
+
+        private SocialSecurityNumberBlindIndexer indexer;
+
+        private boolean projecting;
+
+        private SocialSecurityNumberValidator validator;
+
+        Builder(final CryptographicServiceSupport<String> encryptor) {
+            super();
+
+            // Verify constructor requirements, ...
+            Preconditions.checkNotNull(encryptor, "Encryptor cannot be null.");
+
+            // ... and initialize this instance fields.
+            this.encryptor = encryptor;
+        }
+
+        /**
+         * @return newly created factory, configured by this builder
+         */
+        public SocialSecurityNumberFactory build() {
+            return new SocialSecurityNumberFactory(this);
+        }
+
+        /**
+         * @param ssnCache cache of decrypted SSNs which should be used by created SSNs (may be {@code null})
+         * @return this builder
+         */
+        public Builder cache(@Nullable final SocialSecurityNumberCache ssnCache) {
+            this.cache = ssnCache;
+            return this;
+        }
+
+        /**
+         * @param blindIndexer the indexer which will be used for computing blind index of created SSNs (may be
+         *        {@code null})
+         * @return this builder
+         */
+        public Builder indexer(@Nullable final SocialSecurityNumberBlindIndexer blindIndexer) {
+            this.indexer = blindIndexer;
+            return this;
+        }
+
+        /**
+         * Enables or disables serial number projection (disabled by default).
+         *
+         * <p>
+         *     <strong>Warning:</strong> created SSNs keep their serial number (last 4 digits) in clear text for their
+         *     whole lifetime, thus it is exposed to anyone able to inspect the heap (heap dumps, for example). The
+         *     projection is neither encrypted nor serialized, and is never restored
+         *     ({@link SocialSecurityNumberFactory#restoreSocialSecurityNumber(DecryptableValue, BlindIndex)}). Enable
+         *     it only if masked printing without decryption is worth this exposure.
+         * </p>
+         *
+         * @param enabled determines if created SSNs should keep their serial number (last 4 digits) for masked printing
+         * @return this builder
+         */
+        public Builder projecting(final boolean enabled) {
+            this.projecting = enabled;
+            return this;
+        }
+
+        /**
+         * @param ssnValidator the validator which will be used for rejecting SSNs not conforming to SSA rules before
+         *        they are encrypted (may be {@code null})
+         * @return this builder
+         */
+        public Builder validator(@Nullable final SocialSecurityNumberValidator ssnValidator) {
+            this.validator = ssnValidator;
+            return this;
+        }
+
     }
 
 }
@@ -1,18 +1,30 @@
 package pl.ais.commons.domain.ssn;
 
+import java.io.IOException;
 import java.text.ParseException;
 import java.util.Locale;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.Formatter;
 
+import pl.ais.commons.domain.metrics.Instrumentation;
+import pl.ais.commons.domain.metrics.MetricsEvent;
 import pl.ais.commons.domain.stereotype.DomainService;
 
+import com.google.common.base.Preconditions;
+
 /**
  * {@link Formatter} implementation applicable to {@link SocialSecurityNumber}.
  *
+ * <p>
+ *     Masked formatter prints SSNs as {@code ***-**-1234} ({@link SocialSecurityNumber#toMaskedString()}), never
+ *     decrypting them. SSNs may also be printed directly into the caller-supplied buffer
+ *     ({@link #printTo(SocialSecurityNumber, Appendable)}), without creating any intermediate strings.
+ * </p>
+ *
  * @author Warlock, AIS.PL
  * @since 1.0.1
  */
@@ -20,7 +32,7 @@ import pl.ais.commons.domain.stereotype.DomainService;
 @SuppressWarnings("PMD.BeanMembersShouldSerialize")
 public class SocialSecurityNumberFormatter implements Formatter<SocialSecurityNumber> {
 
-    private final Pattern pattern = Pattern.compile("^(\\d{3})-(\\d{2})-(\\d{4})$");
+    private final boolean masked;
 
     private final SocialSecurityNumberFactory ssnFactory;
 
@@ -31,8 +43,67 @@ public class SocialSecurityNumberFormatter implements Formatter<SocialSecurityNu
      */
     @Autowired
     public SocialSecurityNumberFormatter(final SocialSecurityNumberFactory ssnFactory) {
+        this(ssnFactory, false);
+    }
+
+    /**
+     * Constructs new instance.
+     *
+     * @param ssnFactory SSN factory to use
+     * @param masked determines if SSNs should be printed masked, without decrypting them
+     */
+    public SocialSecurityNumberFormatter(final SocialSecurityNumberFactory ssnFactory, final boolean masked) {
         super();
         this.ssnFactory = ssnFactory;
+        this.masked = masked;
+    }
+
+    private static boolean isDigits(final CharSequence text, final int start, final int end) {
+        boolean result = true;
+        for (int index = start; result && (index < end); index++) {
+            final char character = text.charAt(index);
+            result = (character >= '0') && (character <= '9');
+        }
+        return result;
+    }
+
+    private SocialSecurityNumber create(final CharSequence text, final int start) {
+        final char[] digits = new char[9];
+        int count = 0;
+        for (int index = start; index < start + 11; index++) {
+            final char character = text.charAt(index);
+            if ('-' != character) {
+                digits[count++] = character;
+            }
+        }
+        return ssnFactory.tryCreateSocialSecurityNumber(new String(digits));
+    }
+
+    /**
+     * Verifies if given text is a valid SSN representation ({@code 000-00-0000}), accepted by the SSN factory
+     * validator (if any), without allocating any objects.
+     *
+     * @param text the text to verify (may be {@code null})
+     * @return {@code true} if given text is a valid SSN representation, {@code false} otherwise
+     */
+    public boolean isValid(@CheckForNull final CharSequence text) {
+        return (null != text) && isValid(text, 0, text.length());
+    }
+
+    /**
+     * Verifies if given text range is a valid SSN representation ({@code 000-00-0000}), accepted by the SSN factory
+     * validator (if any), without allocating any objects.
+     *
+     * @param text the text to verify
+     * @param start index of the first character to verify (inclusive)
+     * @param end index of the last character to verify (exclusive)
+     * @return {@code true} if given text range is a valid SSN representation, {@code false} otherwise
+     */
+    public boolean isValid(@Nonnull final CharSequence text, final int start, final int end) {
+        Preconditions.checkPositionIndexes(start, end, text.length());
+        return (11 == end - start) && isDigits(text, start, start + 3) && ('-' == text.charAt(start + 3))
+            && isDigits(text, start + 4, start + 6) && ('-' == text.charAt(start + 6))
+            && isDigits(text, start + 7, end) && ssnFactory.isAccepted(text, start, end);
     }
 
     /**
@@ -40,16 +111,25 @@ public class SocialSecurityNumberFormatter implements Formatter<SocialSecurityNu
      */
     @Override
     public SocialSecurityNumber parse(final String text, final Locale locale) throws ParseException {
-        SocialSecurityNumber result = null;
-        if (null != text) {
-            final Matcher matcher = pattern.matcher(text);
-            if (matcher.matches()) {
-                result = ssnFactory.createSocialSecurityNumber(matcher.group(1), matcher.group(2), matcher.group(3));
-            } else {
-                throw new ParseException("Unable to parse provided text as SSN.", 0);
-            }
+        return (null == text) ? null : parse(text, 0, text.length());
+    }
+
+    /**
+     * Parses given text range as SSN, without copying it (apart from the SSN value being encrypted).
+     *
+     * @param text the text to parse
+     * @param start index of the first character to parse (inclusive)
+     * @param end index of the last character to parse (exclusive)
+     * @return SSN represented by given text range
+     * @throws ParseException if given range is not a valid SSN representation (error offset is the range start)
+     */
+    public SocialSecurityNumber parse(@Nonnull final CharSequence text, final int start, final int end)
+        throws ParseException {
+        if (!isValid(text, start, end)) {
+            Instrumentation.count(MetricsEvent.SSN_PARSE_FAILURE);
+            throw new ParseException("Unable to parse provided text as SSN.", start);
         }
-        return result;
+        return create(text, start);
     }
 
     /**
@@ -58,7 +138,72 @@ public class SocialSecurityNumberFormatter implements Formatter<SocialSecurityNu
     @Override
     @SuppressWarnings("PMD.NullAssignment")
     public String print(final SocialSecurityNumber ssn, final Locale locale) {
-        return (null == ssn) ? null : ssn.getAreaNumber() + "-" + ssn.getGroupNumber() + "-" + ssn.getSerialNumber();
+        String result = null;
+        if (null != ssn) {
+            result = masked ? ssn.toMaskedString() : ssn.printTo(new StringBuilder(11)).toString();
+        }
+        return result;
+    }
+
+    /**
+     * Writes given SSN into given target (masked, if this instance is masking), without creating any intermediate
+     * strings.
+     *
+     * @param ssn the SSN to write (nothing is written if it is {@code null})
+     * @param target the target to write into
+     * @return the target
+     * @throws IOException if the target raises it
+     */
+    public Appendable printTo(@CheckForNull final SocialSecurityNumber ssn, @Nonnull final Appendable target)
+        throws IOException {
+        Preconditions.checkNotNull(target, "Target cannot be null.");
+        if (null != ssn) {
+            if (masked) {
+                ssn.printMaskedTo(target);
+            } else {
+                ssn.printTo(target);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Parses given text as SSN, without raising any exception when it is invalid.
+     *
+     * <p>
+     *     Intended for the hot loops processing large amount of possibly invalid data, where the cost of creating
+     *     {@link ParseException} (and filling its stack trace) for each invalid row is not acceptable.
+     * </p>
+     *
+     * @param text the text to parse (may be {@code null})
+     * @return SSN represented by given text, or {@code null} if text is {@code null} or is not a valid SSN
+     *         representation
+     */
+    @CheckForNull
+    @SuppressWarnings("PMD.NullAssignment")
+    public SocialSecurityNumber tryParse(@CheckForNull final CharSequence text) {
+        return (null == text) ? null : tryParse(text, 0, text.length());
+    }
+
+    /**
+     * Parses given text range as SSN, without copying it (apart from the SSN value being encrypted), and without
+     * raising any exception when it is invalid.
+     *
+     * @param text the text to parse
+     * @param start index of the first character to parse (inclusive)
+     * @param end index of the last character to parse (exclusive)
+     * @return SSN represented by given text range, or {@code null} if it is not a valid SSN representation
+     */
+    @CheckForNull
+    @SuppressWarnings("PMD.NullAssignment")
+    public SocialSecurityNumber tryParse(@Nonnull final CharSequence text, final int start, final int end) {
+        SocialSecurityNumber result = null;
+        if (isValid(text, start, end)) {
+            result = create(text, start);
+        } else {
+            Instrumentation.count(MetricsEvent.SSN_PARSE_FAILURE);
+        }
+        return result;
     }
 
 }
@@ -0,0 +1,139 @@
+package pl.ais.commons.domain.ssn;
+
+import java.util.Arrays;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Validates Social Security Numbers against the SSA assignment rules, using precomputed lookup tables.
+ *
+ * <p>
+ *     Validation works on the raw character sequences ({@code 000-00-0000} or {@code 000000000}), without allocating
+ *     any objects, thus it can be used for rejecting the invalid SSNs before they are encrypted. Two modes are
+ *     available:
+ * </p>
+ * <ul>
+ *     <li>{@link Mode#LENIENT} rejects SSNs which are structurally impossible: area number {@code 000}, {@code 666}
+ *     or {@code 900}-{@code 999} (never assigned as SSNs, used by ITINs and advertising), group number {@code 00} or
+ *     serial number {@code 0000},</li>
+ *     <li>{@link Mode#STRICT} additionally rejects SSNs known to be void because of their public misuse.</li>
+ * </ul>
+ *
+ * @see <a href="http://www.ssa.gov/employer/randomizationfaqs.html">Social Security Number Randomization</a>
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@Immutable
+public final class SocialSecurityNumberValidator {
+
+    private static final SocialSecurityNumberValidator LENIENT = new SocialSecurityNumberValidator(Mode.LENIENT);
+
+    private static final SocialSecurityNumberValidator STRICT = new SocialSecurityNumberValidator(Mode.STRICT);
+
+    /**
+     * SSNs (packed into single number, in ascending order) rendered void because of their public misuse.
+     */
+    private static final int[] VOIDED = {78051120, 219099999};
+
+    /**
+     * Bit set of the valid area numbers (bit {@code n} is set if area number {@code n} is valid).
+     */
+    private final long[] areas = new long[(1000 + 63) / 64];
+
+    private final Mode mode;
+
+    private SocialSecurityNumberValidator(final Mode mode) {
+        super();
+        this.mode = mode;
+        for (int area = 1; area < 900; area++) {
+            if (666 != area) {
+                areas[area >>> 6] |= 1L << area;
+            }
+        }
+    }
+
+    /**
+     * @param mode validation mode
+     * @return shared (singleton) instance of {@link SocialSecurityNumberValidator} working in given mode
+     */
+    public static SocialSecurityNumberValidator getInstance(@Nonnull final Mode mode) {
+        return (Mode.STRICT == mode) ? STRICT : LENIENT;
+    }
+
+    private static int digits(final CharSequence text, final int start, final int end) {
+        int result = 0;
+        for (int index = start; (result >= 0) && (index < end); index++) {
+            final char character = text.charAt(index);
+            result = ((character >= '0') && (character <= '9')) ? result * 10 + (character - '0') : -1;
+        }
+        return result;
+    }
+
+    /**
+     * @return validation mode of this validator
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Verifies if given text is valid SSN ({@code 000-00-0000} or {@code 000000000}).
+     *
+     * @param text the text to verify (may be {@code null})
+     * @return {@code true} if given text is valid SSN, {@code false} otherwise
+     */
+    public boolean isValid(@CheckForNull final CharSequence text) {
+        return (null != text) && isValid(text, 0, text.length());
+    }
+
+    /**
+     * Verifies if given text range is valid SSN ({@code 000-00-0000} or {@code 000000000}).
+     *
+     * @param text the text to verify
+     * @param start index of the first character to verify (inclusive)
+     * @param end index of the last character to verify (exclusive)
+     * @return {@code true} if given text range is valid SSN, {@code false} otherwise
+     */
+    public boolean isValid(@Nonnull final CharSequence text, final int start, final int end) {
+        final int length = end - start;
+        final boolean hyphenated = (11 == length) && ('-' == text.charAt(start + 3)) && ('-' == text.charAt(start + 6));
+        final int offset = hyphenated ? 1 : 0;
+        return (hyphenated || (9 == length)) && isValid(digits(text, start, start + 3),
+            digits(text, start + 3 + offset, start + 5 + offset), digits(text, start + 5 + 2 * offset, end));
+    }
+
+    /**
+     * Verifies if given SSN components are valid.
+     *
+     * @param areaNumber the area number
+     * @param groupNumber the group number
+     * @param serialNumber the serial number
+     * @return {@code true} if given SSN components are valid, {@code false} otherwise
+     */
+    public boolean isValid(final int areaNumber, final int groupNumber, final int serialNumber) {
+        return (areaNumber >= 0) && (areaNumber < 1000) && (0 != (areas[areaNumber >>> 6] & (1L << areaNumber)))
+            && (groupNumber > 0) && (groupNumber < 100) && (serialNumber > 0) && (serialNumber < 10000)
+            && ((Mode.LENIENT == mode) || (Arrays.binarySearch(VOIDED,
+                (areaNumber * 100 + groupNumber) * 10000 + serialNumber) < 0));
+    }
+
+    /**
+     * Validation mode.
+     */
+    public enum Mode {
+
+        /**
+         * Rejects SSNs which are never assigned.
+         */
+        LENIENT,
+
+        /**
+         * Rejects SSNs which are never assigned, and SSNs known to be void.
+         */
+        STRICT
+
+    }
+
+}
@@ -0,0 +1,101 @@
+package pl.ais.commons.domain.text;
+
+import java.io.IOException;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Writes the numbers as fixed count of decimal digits (padded with leading zeros), without creating any intermediate
+ * strings, for the value objects printing their components.
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+public final class Digits {
+
+    private Digits() {
+        super();
+    }
+
+    /**
+     * Appends given number as exactly {@code count} digits (padded with leading zeros) to the target.
+     *
+     * @param target the target to append to
+     * @param number the number to append
+     * @param count number of digits to append
+     * @throws IOException if the target raises it
+     */
+    public static void append(@Nonnull final Appendable target, final long number, final int count)
+        throws IOException {
+        long divisor = 1;
+        for (int index = 1; index < count; index++) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            target.append((char) ('0' + number / divisor % 10));
+        }
+    }
+
+    /**
+     * Provides given number as exactly {@code count} digits (padded with leading zeros).
+     *
+     * @param number the number to format
+     * @param count number of digits to provide
+     * @return given number as exactly {@code count} digits
+     */
+    @Nonnull
+    public static String format(final long number, final int count) {
+        final char[] characters = new char[count];
+        write(number, characters, 0, count);
+        return new String(characters);
+    }
+
+    /**
+     * Writes given value into given builder, using its {@link Printer}, and translating {@link IOException} (which
+     * builder never raises) into {@link IllegalStateException}.
+     *
+     * @param target the builder to write into
+     * @param printer the printer writing the value
+     * @return the builder
+     */
+    public static StringBuilder printTo(@Nonnull final StringBuilder target, @Nonnull final Printer printer) {
+        try {
+            printer.printTo(target);
+        } catch (IOException exception) {
+            throw new IllegalStateException("StringBuilder should never raise IOException.", exception);
+        }
+        return target;
+    }
+
+    /**
+     * Writes given number as exactly {@code count} digits (padded with leading zeros) into the target array.
+     *
+     * @param number the number to write
+     * @param target the target array
+     * @param offset index of the first target array element to write
+     * @param count number of digits to write
+     */
+    public static void write(final long number, @Nonnull final char[] target, final int offset, final int count) {
+        long remainder = number;
+        for (int index = offset + count - 1; index >= offset; index--) {
+            target[index] = (char) ('0' + remainder % 10);
+            remainder /= 10;
+        }
+    }
+
+    /**
+     * Writes the value into given target.
+     */
+    @FunctionalInterface
+    public interface Printer {
+
+        /**
+         * @param target the target to write into
+         * @return the target
+         * @throws IOException if the target raises it
+         */
+        Appendable printTo(@Nonnull Appendable target) throws IOException;
+
+    }
+
+}
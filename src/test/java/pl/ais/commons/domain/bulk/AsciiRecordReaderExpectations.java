@@ -0,0 +1,153 @@
+package pl.ais.commons.domain.bulk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import pl.ais.commons.domain.ein.EmployerIdentificationNumberFormatter;
+import pl.ais.commons.domain.phone.PhoneNumberFormatter;
+import pl.ais.commons.domain.security.PassThroughCryptographicService;
+import pl.ais.commons.domain.ssn.SocialSecurityNumber;
+import pl.ais.commons.domain.ssn.SocialSecurityNumberFactory;
+import pl.ais.commons.domain.ssn.SocialSecurityNumberValidator;
+import pl.ais.commons.domain.ssn.SocialSecurityNumberValidator.Mode;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+
+/**
+ * Verifies {@link AsciiRecordReader} expectations.
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+public class AsciiRecordReaderExpectations {
+
+    /**
+     * Temporary folder holding the files being read.
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File write(final String content) throws IOException {
+        final File file = folder.newFile("records.txt");
+        Files.write(content, file, Charsets.US_ASCII);
+        return file;
+    }
+
+    /**
+     * Should parse delimited records spanning multiple file windows.
+     *
+     * @throws IOException in case of problems with reading the file
+     */
+    @Test
+    public void shouldParseDelimitedRecords() throws IOException {
+
+        // Given delimited file having header, and the reader mapping small windows, ...
+        final File file = write("EIN,PHONE,SSN\r\n12-3456789, (212) 555-1234 ,987-65-4321\r\n\r\n"
+            + "\"987654321\",2125550000,123456789\ninvalid,invalid,invalid");
+        final AsciiRecordReader reader = new AsciiRecordReader(RecordLayout.delimited(','), 1, 48);
+        final SocialSecurityNumberFactory factory = new SocialSecurityNumberFactory(
+            new PassThroughCryptographicService());
+
+        // ... when we read the records, ...
+        final List<Object> values = new ArrayList<>();
+        final long records = reader.read(file.toPath(), new AsciiRecordHandler() {
+
+            @Override
+            public void handle(final AsciiRecord record) {
+                values.add(record.getLineNumber());
+                values.add(record.ein(0));
+                values.add(record.phoneNumber(1));
+                final SocialSecurityNumber ssn = record.ssn(2, factory);
+                values.add((null == ssn) ? null : ssn.getSerialNumber());
+            }
+
+        });
+
+        // ... then each field should be parsed appropriately, skipping header and empty lines.
+        assertEquals("Invalid number of records read.", 3, records);
+        assertEquals("First record is invalid.", 2L, values.get(0));
+        assertEquals("First EIN is invalid.", 123456789, values.get(1));
+        assertEquals("First phone number is invalid.", 2125551234L, values.get(2));
+        assertEquals("First SSN is invalid.", "4321", values.get(3));
+        assertEquals("Second record is invalid.", 4L, values.get(4));
+        assertEquals("Second EIN is invalid.", 987654321, values.get(5));
+        assertEquals("Second phone number is invalid.", 2125550000L, values.get(6));
+        assertEquals("Second SSN is invalid.", "6789", values.get(7));
+        assertEquals("Invalid EIN should be reported.", EmployerIdentificationNumberFormatter.INVALID, values.get(9));
+        assertEquals("Invalid phone number should be reported.", PhoneNumberFormatter.INVALID, values.get(10));
+        assertNull("Invalid SSN should be reported.", values.get(11));
+    }
+
+    /**
+     * Should report SSNs rejected by the factory validator as invalid, without raising any exception.
+     *
+     * @throws IOException in case of problems with reading the file
+     */
+    @Test
+    public void shouldReportSSNsRejectedByFactoryValidator() throws IOException {
+
+        // Given file holding SSNs, and the factory having strict validator, ...
+        final File file = write("000-12-3456\n666123456\n123-45-6789\n");
+        final SocialSecurityNumberFactory factory = SocialSecurityNumberFactory.builder(
+            new PassThroughCryptographicService()).validator(SocialSecurityNumberValidator.getInstance(Mode.STRICT))
+            .build();
+
+        // ... when we read the records, ...
+        final List<SocialSecurityNumber> values = new ArrayList<>();
+        new AsciiRecordReader(RecordLayout.delimited(',')).read(file.toPath(), new AsciiRecordHandler() {
+
+            @Override
+            public void handle(final AsciiRecord record) {
+                values.add(record.ssn(0, factory));
+            }
+
+        });
+
+        // ... then SSNs rejected by the validator should be reported as invalid.
+        assertNull("SSN having area 000 should be reported.", values.get(0));
+        assertNull("SSN having area 666 should be reported.", values.get(1));
+        assertEquals("Valid SSN should be created.", "6789", values.get(2).getSerialNumber());
+    }
+
+    /**
+     * Should parse fixed-width records.
+     *
+     * @throws IOException in case of problems with reading the file
+     */
+    @Test
+    public void shouldParseFixedWidthRecords() throws IOException {
+
+        // Given fixed-width file, ...
+        final File file = write("123456789 2125551234\n01-0000001 212555000\n");
+        final AsciiRecordReader reader = new AsciiRecordReader(RecordLayout.fixedWidth(10, 10));
+
+        // ... when we read the records, ...
+        final List<Object> values = new ArrayList<>();
+        reader.read(file.toPath(), new AsciiRecordHandler() {
+
+            @Override
+            public void handle(final AsciiRecord record) {
+                values.add(record.ein(0));
+                values.add(record.phoneNumber(1));
+            }
+
+        });
+
+        // ... then each field should be parsed appropriately.
+        assertEquals("First EIN is invalid.", 123456789, values.get(0));
+        assertEquals("First phone number is invalid.", 2125551234L, values.get(1));
+        assertEquals("Second EIN is invalid.", 10000001, values.get(2));
+        assertEquals("Truncated phone number should be reported.", PhoneNumberFormatter.INVALID, values.get(3));
+    }
+
+}
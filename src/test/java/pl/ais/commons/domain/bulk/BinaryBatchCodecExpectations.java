@@ -0,0 +1,295 @@
+package pl.ais.commons.domain.bulk;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.Test;
+
+import pl.ais.commons.domain.ein.EmployerIdentificationNumber;
+import pl.ais.commons.domain.phone.PhoneNumber;
+import pl.ais.commons.domain.security.DecryptableValue;
+import pl.ais.commons.domain.security.PassThroughCryptographicService;
+import pl.ais.commons.domain.ssn.SocialSecurityNumber;
+import pl.ais.commons.domain.ssn.SocialSecurityNumberBlindIndexer;
+import pl.ais.commons.domain.ssn.SocialSecurityNumberFactory;
+
+import com.google.common.base.Charsets;
+
+/**
+ * Verifies {@link BinaryBatchCodec} expectations.
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@SuppressWarnings("static-method")
+public class BinaryBatchCodecExpectations {
+
+    private static final SocialSecurityNumberFactory FACTORY = new SocialSecurityNumberFactory(
+        new PassThroughCryptographicService());
+
+    /**
+     * Should encode EINs using fixed-width and delta-encoded layout.
+     */
+    @Test
+    public void shouldRoundTripEins() {
+
+        // Given sorted EINs, and the codec, ...
+        final int[] values = new int[1000];
+        for (int index = 0; index < values.length; index++) {
+            values[index] = 123000000 + index * 7;
+        }
+        final BinaryBatchCodec codec = new BinaryBatchCodec(new PassThroughMarshaller());
+
+        // ... when we encode them using both layouts, ...
+        final ByteBuffer fixed = codec.encodeEins(values, false);
+        final ByteBuffer delta = codec.encodeEins(values, true);
+
+        // ... then fixed-width layout should take 4 bytes per EIN, delta-encoded one should be smaller, ...
+        assertEquals("Fixed-width batch size is invalid.", BinaryBatchCodec.HEADER_SIZE + 4 * values.length,
+            fixed.remaining());
+        assertTrue("Delta-encoded batch should be smaller.", delta.remaining() < fixed.remaining() / 3);
+
+        // ... and both should be decoded properly.
+        assertArrayEquals("Fixed-width EINs differ.", values, codec.decodeEinsAsInts(fixed));
+        assertArrayEquals("Delta-encoded EINs differ.", values, codec.decodeEinsAsInts(delta));
+        assertEquals("Decoded batch should be consumed.", 0, fixed.remaining() + delta.remaining());
+    }
+
+    /**
+     * Should encode phone numbers, including the undefined ones.
+     */
+    @Test
+    public void shouldRoundTripPhoneNumbers() {
+
+        // Given phone numbers, and the codec, ...
+        final List<PhoneNumber> phoneNumbers = Arrays.asList(PhoneNumber.of(9999999999L), new PhoneNumber(),
+            PhoneNumber.of(2125551234L), PhoneNumber.of(0L));
+        final BinaryBatchCodec codec = new BinaryBatchCodec(new PassThroughMarshaller());
+
+        // ... when we encode them using both layouts, ...
+        final ByteBuffer fixed = codec.encodePhoneNumbers(phoneNumbers, false);
+        final ByteBuffer delta = codec.encodePhoneNumbers(phoneNumbers, true);
+
+        // ... then fixed-width layout should take 5 bytes per phone number, and both should be decoded properly.
+        assertEquals("Fixed-width batch size is invalid.", BinaryBatchCodec.HEADER_SIZE + 5 * phoneNumbers.size(),
+            fixed.remaining());
+        assertEquals("Fixed-width phone numbers differ.", phoneNumbers, codec.decodePhoneNumbers(fixed));
+        assertEquals("Delta-encoded phone numbers differ.", phoneNumbers, codec.decodePhoneNumbers(delta));
+    }
+
+    /**
+     * Should transfer concatenated batches through the channels.
+     *
+     * @throws IOException in case of problems with the channels
+     */
+    @Test
+    public void shouldTransferBatchesThroughChannels() throws IOException {
+
+        // Given EINs and SSNs, and the codec, ...
+        final List<EmployerIdentificationNumber> eins = Arrays.asList(EmployerIdentificationNumber.of(123456789),
+            EmployerIdentificationNumber.of(987654321));
+        final SocialSecurityNumberFactory factory = new SocialSecurityNumberFactory(
+            new PassThroughCryptographicService());
+        final List<SocialSecurityNumber> ssns = Arrays.asList(factory.createSocialSecurityNumber("123", "45", "6789"),
+            factory.createSocialSecurityNumber("987", "65", "4321"));
+        final BinaryBatchCodec codec = new BinaryBatchCodec(new PassThroughMarshaller());
+
+        // ... when we write their batches to the channel, and read them back, ...
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BinaryBatchCodec.writeBatch(codec.encodeEins(eins, true), Channels.newChannel(output));
+        BinaryBatchCodec.writeBatch(codec.encodeSocialSecurityNumbers(ssns), Channels.newChannel(output));
+        final ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+
+        // ... then they should be decoded properly.
+        assertEquals("EINs differ.", eins, codec.decodeEins(BinaryBatchCodec.readBatch(Channels.newChannel(input))));
+        final List<SocialSecurityNumber> decoded = codec.decodeSocialSecurityNumbers(
+            BinaryBatchCodec.readBatch(Channels.newChannel(input)), factory);
+        assertEquals("SSNs differ.", ssns, decoded);
+        assertEquals("SSN representation differs.", "987654321", decoded.get(1).getRepresentation().decrypt());
+    }
+
+    /**
+     * Should transfer blind indexes of the SSNs, but never their serial number projections.
+     */
+    @Test
+    public void shouldTransferBlindIndexesWithoutProjections() {
+
+        // Given SSNs with and without blind index and serial number projection, and the codec, ...
+        final SocialSecurityNumberFactory factory = SocialSecurityNumberFactory.builder(
+            new PassThroughCryptographicService()).projecting(true).indexer(new SocialSecurityNumberBlindIndexer(
+                new SecretKeySpec("secret".getBytes(Charsets.US_ASCII), "HmacSHA256"))).build();
+        final List<SocialSecurityNumber> ssns = Arrays.asList(factory.createSocialSecurityNumber("123", "45", "6789"),
+            FACTORY.createSocialSecurityNumber("987", "65", "4321"));
+        final BinaryBatchCodec codec = new BinaryBatchCodec(new PassThroughMarshaller());
+
+        // ... when we encode and decode them, ...
+        final ByteBuffer plain = codec.encodeSocialSecurityNumbers(ssns.subList(1, 2));
+        final List<SocialSecurityNumber> decoded = codec.decodeSocialSecurityNumbers(
+            codec.encodeSocialSecurityNumbers(ssns), FACTORY);
+
+        // ... then blind indexes should be restored, while projections should be lost.
+        assertEquals("Batch without blind indexes should not carry them.", BinaryBatchCodec.HEADER_SIZE + 4 + 9,
+            plain.remaining());
+        assertEquals("SSNs differ.", ssns, decoded);
+        assertEquals("Blind index differs.", ssns.get(0).getBlindIndex(), decoded.get(0).getBlindIndex());
+        assertNull("Missing blind index should stay missing.", decoded.get(1).getBlindIndex());
+        assertEquals("SSN should be masked before transfer.", "***-**-6789", ssns.get(0).toMaskedString());
+        assertEquals("Decoded SSN should be fully masked.", "***-**-****", decoded.get(0).toMaskedString());
+    }
+
+    /**
+     * Should reject batch of unexpected type.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectUnexpectedBatchType() {
+
+        // Given phone numbers batch, when we decode it as EINs batch, then exception should be raised.
+        final BinaryBatchCodec codec = new BinaryBatchCodec(new PassThroughMarshaller());
+        codec.decodeEins(codec.encodePhoneNumbers(new long[] {2125551234L}, false));
+    }
+
+    /**
+     * Should reject batches having truncated or negative header values, before allocating anything sized by them.
+     */
+    @Test
+    public void shouldRejectCorruptedHeaders() {
+
+        // Given the codec, ...
+        final BinaryBatchCodec codec = new BinaryBatchCodec(new PassThroughMarshaller());
+
+        // ... when we decode batches having corrupted headers, then they should be rejected.
+        assertRejected("Truncated header", codec, ByteBuffer.wrap(new byte[] {'E', 0, 0, 0}));
+        assertRejected("Negative count", codec, batch('E', 0, -1, 0));
+        assertRejected("Negative payload size", codec, batch('E', 0, 1, -4));
+        assertRejected("Huge count", codec, batch('E', 0, Integer.MAX_VALUE, 4, 0, 0, 0, 1));
+        assertRejected("Truncated payload", codec, batch('E', 0, 2, 8, 0, 0, 0, 1));
+        assertRejected("Unconsumed payload", codec, batch('E', 0, 1, 5, 0, 0, 0, 1, 0));
+    }
+
+    /**
+     * Should reject batches holding values out of range, or malformed SSN representation lengths.
+     */
+    @Test
+    public void shouldRejectCorruptedPayloads() {
+
+        // Given the codec, ...
+        final BinaryBatchCodec codec = new BinaryBatchCodec(new PassThroughMarshaller());
+
+        // ... when we decode batches having corrupted payloads, then they should be rejected.
+        assertRejected("Negative EIN", codec, batch('E', 0, 1, 4, -1, -1, -1, -1));
+        assertRejected("Delta-encoded EIN out of range", codec,
+            codec.encodePhoneNumbers(new long[] {9999999999L}, true).put(0, (byte) 'E'));
+        assertRejected("Truncated variable-length number", codec, batch('E', 1, 1, 1, -128));
+        assertRejected("Phone number out of range", codec,
+            batch('P', 0, 1, 5, 0x0F, -1, -1, -1, -1));
+        assertRejected("Negative SSN length", codec, batch('S', 0, 1, 4, -1, -1, -1, -1));
+        assertRejected("SSN length exceeding payload", codec, batch('S', 0, 1, 6, 0, 0, 0, 9, '1', '2'));
+        assertRejected("Missing blind index length", codec, batch('S', 2, 1, 5, 0, 0, 0, 1, '1'));
+    }
+
+    /**
+     * Should refuse encoding values which are not valid EINs or phone numbers, instead of truncating them.
+     */
+    @Test
+    public void shouldRejectInvalidValuesWhenEncoding() {
+
+        // Given the codec, ...
+        final BinaryBatchCodec codec = new BinaryBatchCodec(new PassThroughMarshaller());
+
+        // ... when we encode values out of range, then they should be rejected.
+        for (final boolean delta : new boolean[] {false, true}) {
+            assertEncodingRejected(() -> codec.encodeEins(new int[] {-1}, delta));
+            assertEncodingRejected(() -> codec.encodeEins(new int[] {1000000000}, delta));
+            assertEncodingRejected(() -> codec.encodePhoneNumbers(new long[] {-2L}, delta));
+            assertEncodingRejected(() -> codec.encodePhoneNumbers(new long[] {10000000000L}, delta));
+        }
+        assertEquals("Undefined phone number should be encoded.", Arrays.asList(new PhoneNumber()),
+            codec.decodePhoneNumbers(codec.encodePhoneNumbers(new long[] {-1L}, false)));
+    }
+
+    /**
+     * Should refuse reading batches declaring negative or too large payload from the channel.
+     */
+    @Test
+    public void shouldRefuseReadingCorruptedBatches() {
+        for (final ByteBuffer batch : Arrays.asList(batch('E', 0, 0, -1), batch('E', 0, 4, 0), batch('E', 0, 0, 64))) {
+            try {
+                BinaryBatchCodec.readBatch(Channels.newChannel(new ByteArrayInputStream(batch.array())), 32);
+                fail("Corrupted batch should be refused.");
+            } catch (IOException exception) {
+                assertTrue("Batch should be refused before reading its payload.",
+                    exception.getMessage().startsWith("Batch"));
+            }
+        }
+    }
+
+    private static void assertEncodingRejected(final Runnable encoding) {
+        try {
+            encoding.run();
+            fail("Invalid value should be rejected.");
+        } catch (IllegalArgumentException exception) {
+            assertTrue("Invalid value should be reported.", exception.getMessage().startsWith("Provided value"));
+        }
+    }
+
+    private static void assertRejected(final String message, final BinaryBatchCodec codec, final ByteBuffer source) {
+        final byte tag = source.get(source.position());
+        try {
+            if ('E' == tag) {
+                codec.decodeEinsAsInts(source);
+            } else if ('P' == tag) {
+                codec.decodePhoneNumbersAsLongs(source);
+            } else {
+                codec.decodeSocialSecurityNumbers(source, FACTORY);
+            }
+            fail(message + " should be rejected.");
+        } catch (IllegalArgumentException exception) {
+            assertTrue(message + " should be reported.", exception.getMessage().startsWith("Batch")
+                || exception.getMessage().startsWith("Decoded"));
+        }
+    }
+
+    private static ByteBuffer batch(final char tag, final int flags, final int count, final int payloadSize,
+        final int... payload) {
+        final ByteBuffer result = ByteBuffer.allocate(BinaryBatchCodec.HEADER_SIZE + payload.length);
+        result.put((byte) tag).put((byte) flags).putInt(count).putInt(payloadSize);
+        for (final int value : payload) {
+            result.put((byte) value);
+        }
+        result.flip();
+        return result;
+    }
+
+    /**
+     * Marshals representations created by {@link PassThroughCryptographicService} as their ASCII digits.
+     */
+    private static final class PassThroughMarshaller implements RepresentationMarshaller {
+
+        private final PassThroughCryptographicService service = new PassThroughCryptographicService();
+
+        @Override
+        public byte[] marshal(final DecryptableValue<String> representation) {
+            return representation.decrypt().getBytes(Charsets.US_ASCII);
+        }
+
+        @Override
+        public DecryptableValue<String> unmarshal(final byte[] bytes) {
+            return service.encrypt(new String(bytes, Charsets.US_ASCII));
+        }
+
+    }
+
+}
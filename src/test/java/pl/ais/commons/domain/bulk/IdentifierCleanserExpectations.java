@@ -0,0 +1,95 @@
+package pl.ais.commons.domain.bulk;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import pl.ais.commons.domain.ein.EmployerIdentificationNumberFormatter;
+import pl.ais.commons.domain.phone.PhoneNumberFormatter;
+
+/**
+ * Verifies {@link IdentifierCleanser} expectations.
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@SuppressWarnings("static-method")
+public class IdentifierCleanserExpectations {
+
+    /**
+     * Should normalize EINs, reporting outcome of each row and the summary statistics.
+     */
+    @Test
+    public void shouldCleanseEins() {
+
+        // Given EIN cleanser splitting the work into tiny tasks, ...
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        final IdentifierCleanser cleanser = IdentifierCleanser.forEins(
+            EmployerIdentificationNumberFormatter.getInstance(), pool, 2);
+
+        // ... when we cleanse raw values, ...
+        final CleansingResult result = cleanser.cleanse(new String[] {
+            " 12-3456789 ", null, "987654321", "12-345678", "123456789", "  ", "98-7654321", "01-0000001"});
+        pool.shutdown();
+
+        // ... then each row should have its outcome and normalized value reported, ...
+        assertEquals("Invalid number of rows.", 8, result.size());
+        assertEquals("First row should be valid.", CleansingCode.VALID, result.getCode(0));
+        assertEquals("First row should be normalized.", 123456789L, result.getValue(0));
+        assertEquals("Null row should be missing.", CleansingCode.MISSING, result.getCode(1));
+        assertEquals("Malformed row should be reported.", CleansingCode.MALFORMED, result.getCode(3));
+        assertEquals("Malformed row should have no value.", CleansingResult.INVALID, result.getValue(3));
+        assertEquals("Repeated EIN should be duplicate.", CleansingCode.DUPLICATE, result.getCode(4));
+        assertEquals("Duplicate row should be normalized.", 123456789L, result.getValue(4));
+        assertEquals("Blank row should be missing.", CleansingCode.MISSING, result.getCode(5));
+        assertEquals("Repeated EIN should be duplicate.", CleansingCode.DUPLICATE, result.getCode(6));
+
+        // ... along with the statistics and distinct values.
+        assertEquals("Invalid valid count.", 3, result.getValidCount());
+        assertEquals("Invalid invalid count.", 3, result.getInvalidCount());
+        assertEquals("Invalid duplicate count.", 2, result.getDuplicateCount());
+        assertArrayEquals("Invalid distinct values.", new long[] {10000001L, 123456789L, 987654321L},
+            result.getDistinctValues());
+    }
+
+    /**
+     * Should produce the same result regardless of the input size and the way it is split into tasks.
+     */
+    @Test
+    public void shouldCleansePhoneNumbersInParallel() {
+
+        // Given large amount of phone numbers (every fourth one malformed, each valid one occurring twice), ...
+        final String[] rows = new String[100000];
+        for (int index = 0; index < rows.length; index++) {
+            rows[index] = (3 == index % 4) ? "212-555" : "(212) 555-" + String.format("%04d", index / 2 % 10000);
+        }
+
+        // ... when we cleanse them with default settings, and sequentially, ...
+        final CleansingResult result = IdentifierCleanser.forPhoneNumbers(PhoneNumberFormatter.getInstance())
+            .cleanse(Stream.of(rows));
+        final ForkJoinPool pool = new ForkJoinPool(1);
+        final CleansingResult expected = IdentifierCleanser.forPhoneNumbers(PhoneNumberFormatter.getInstance(), pool,
+            rows.length).cleanse(Arrays.asList(rows));
+        pool.shutdown();
+
+        // ... then results should be the same.
+        assertEquals("Invalid invalid count.", 25000, result.getInvalidCount());
+        assertEquals("Invalid valid count.", 10000, result.getValidCount());
+        assertEquals("Invalid duplicate count.", 65000, result.getDuplicateCount());
+        assertEquals("First occurrence should be valid.", CleansingCode.VALID, result.getCode(0));
+        assertEquals("Next occurrence should be duplicate.", CleansingCode.DUPLICATE, result.getCode(20000));
+        assertEquals("Phone number should be normalized.", 2125550000L, result.getValue(20000));
+        assertArrayEquals("Results should not depend on parallelism.", expected.toLongArray(), result.toLongArray());
+        assertArrayEquals("Distinct values should not depend on parallelism.", expected.getDistinctValues(),
+            result.getDistinctValues());
+        for (int row = 0; row < rows.length; row++) {
+            assertEquals("Codes should not depend on parallelism.", expected.getCode(row), result.getCode(row));
+        }
+    }
+
+}
@@ -0,0 +1,75 @@
+package pl.ais.commons.domain.ein;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.text.ParseException;
+import java.util.Locale;
+
+import org.junit.Test;
+
+import pl.ais.commons.domain.ein.EinPrefixRegistry.Campus;
+
+/**
+ * Verifies {@link EinPrefixRegistry} expectations.
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@SuppressWarnings("static-method")
+public class EinPrefixRegistryExpectations {
+
+    /**
+     * Should resolve campus for assigned prefixes, and reject the unassigned ones.
+     */
+    @Test
+    public void shouldResolveCampus() {
+
+        // Given assigned and unassigned prefixes, when we look them up, then they should be resolved properly.
+        assertEquals("Prefix 12 should be assigned to Andover.", Campus.ANDOVER, EinPrefixRegistry.campusOf(12));
+        assertEquals("Prefix 31 should be assigned to SBA.", Campus.SMALL_BUSINESS_ADMINISTRATION,
+            EinPrefixRegistry.campusOf(31));
+        assertEquals("EIN 98-7654321 should be issued by Philadelphia.", Campus.PHILADELPHIA,
+            EinPrefixRegistry.campusOf(new EmployerIdentificationNumber("98", "7654321")));
+        assertFalse("Prefix 00 should not be assigned.", EinPrefixRegistry.isAssignedPrefix(0));
+        assertFalse("Prefix 07 should not be assigned.", EinPrefixRegistry.isAssignedPrefix(7));
+        assertFalse("Prefix 89 should not be assigned.", EinPrefixRegistry.isAssignedPrefix(89));
+        assertFalse("Negative prefix should not be assigned.", EinPrefixRegistry.isAssignedPrefix(-1));
+        assertNull("Prefix 100 should not be assigned.", EinPrefixRegistry.campusOf(100));
+    }
+
+    /**
+     * Should reject EINs having unassigned prefix when using strict formatter.
+     *
+     * @throws ParseException if parsing fails
+     */
+    @Test
+    public void shouldRejectUnassignedPrefixWhenStrict() throws ParseException {
+
+        // Given lenient and strict formatters, ...
+        final EmployerIdentificationNumberFormatter lenient = EmployerIdentificationNumberFormatter.getInstance();
+        final EmployerIdentificationNumberFormatter strict = EmployerIdentificationNumberFormatter.getStrictInstance();
+
+        // ... when we validate EINs having assigned and unassigned prefixes, then only strict one should reject them.
+        assertTrue("Lenient formatter should accept unassigned prefix.", lenient.isValid("07-1234567"));
+        assertFalse("Strict formatter should reject unassigned prefix.", strict.isValid("07-1234567"));
+        assertNull("Strict formatter should not parse unassigned prefix.", strict.tryParse("891234567"));
+        assertEquals("Strict formatter should reject unassigned prefix range.",
+            EmployerIdentificationNumberFormatter.INVALID, strict.tryParseAsInt("x00-1234567", 1, 11));
+        assertEquals("Strict formatter should accept assigned prefix.",
+            new EmployerIdentificationNumber("12", "3456789"), strict.parse("12-3456789", Locale.US));
+    }
+
+    /**
+     * Should reject unassigned prefix when constructing strictly validated EIN.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectUnassignedPrefixWhenConstructing() {
+
+        // Given unassigned prefix, when we construct strictly validated EIN, then exception should be raised.
+        new EmployerIdentificationNumber("07", "1234567", true);
+    }
+
+}
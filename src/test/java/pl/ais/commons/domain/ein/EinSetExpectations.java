@@ -0,0 +1,82 @@
+package pl.ais.commons.domain.ein;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Verifies {@link EinSet} expectations.
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@SuppressWarnings("static-method")
+public class EinSetExpectations {
+
+    /**
+     * Should accept EINs given as text, as value objects and in packed form interchangeably.
+     */
+    @Test
+    public void shouldAcceptEquivalentRepresentations() {
+
+        // Given EIN set, ...
+        final EinSet set = new EinSet();
+
+        // ... when we add EIN given as text, ...
+        assertTrue("EIN should be added.", set.add("12-3456789"));
+
+        // ... then set should contain it, regardless of its representation.
+        assertFalse("EIN should not be added twice.", set.add(new EmployerIdentificationNumber("12", "3456789")));
+        assertTrue("Set should contain packed EIN.", set.contains(123456789));
+        assertTrue("Set should contain EIN given as text.", set.contains(new StringBuilder("123456789")));
+        assertFalse("Set should not contain invalid EIN.", set.contains("12-345678X"));
+        assertEquals("Set should contain single EIN.", 1, set.size());
+    }
+
+    /**
+     * Should behave like {@link HashSet} when adding and removing large number of EINs (forcing rehashing, and
+     * backward shifting of the colliding keys).
+     */
+    @Test
+    public void shouldBehaveLikeHashSet() {
+
+        // Given EIN set, and hash set, ...
+        final EinSet set = new EinSet(4);
+        final Set<Integer> expected = new HashSet<>();
+        final Random random = new Random(20141017L);
+
+        // ... when we add and remove the same EINs from both of them, ...
+        for (int iteration = 0; iteration < 100000; iteration++) {
+            final int ein = random.nextInt(49000) * 20011;
+            if (random.nextInt(3) == 0) {
+                assertEquals("EIN removal result differs.", expected.remove(ein), set.remove(ein));
+            } else {
+                assertEquals("EIN addition result differs.", expected.add(ein), set.add(ein));
+            }
+        }
+
+        // ... then both should contain the same EINs.
+        assertEquals("Set sizes differ.", expected.size(), set.size());
+        for (final int ein : set.toArray()) {
+            assertTrue("Set contains unexpected EIN.", expected.contains(ein));
+        }
+        for (final int ein : expected) {
+            assertTrue("Set lacks expected EIN.", set.contains(ein));
+        }
+    }
+
+    /**
+     * Should raise {@link IllegalArgumentException} when adding invalid EIN.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRaiseExceptionWhenAddingInvalidEIN() {
+        new EinSet().add("1234");
+    }
+
+}
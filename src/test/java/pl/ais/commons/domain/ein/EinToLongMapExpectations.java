@@ -0,0 +1,63 @@
+package pl.ais.commons.domain.ein;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Verifies {@link EinToLongMap} and {@link EinToObjectMap} expectations.
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@SuppressWarnings("static-method")
+public class EinToLongMapExpectations {
+
+    /**
+     * Should map EINs given in any representation to {@code long} values.
+     */
+    @Test
+    public void shouldMapEINsToLongValues() {
+
+        // Given EIN to long map, ...
+        final EinToLongMap map = new EinToLongMap(2);
+
+        // ... when we map EINs given as text and in packed form, ...
+        for (int ein = 0; ein < 1000; ein++) {
+            map.put(ein * 1000003, ein);
+        }
+        map.put("00-0000000", -1L);
+        map.remove(1000003);
+
+        // ... then appropriate values should be returned.
+        assertEquals("Map size is invalid.", 999, map.size());
+        assertEquals("Value mapped to EIN given as text is invalid.", -1L, map.getOrDefault(0, 0L));
+        assertEquals("Value mapped to packed EIN is invalid.", 998L, map.getOrDefault(998002994, 7L));
+        assertEquals("Default value should be returned for removed EIN.", 7L, map.getOrDefault(1000003, 7L));
+        assertFalse("Map should not contain removed EIN.", map.containsKey("01-0000003"));
+    }
+
+    /**
+     * Should map EINs given in any representation to objects.
+     */
+    @Test
+    public void shouldMapEINsToObjects() {
+
+        // Given EIN to object map, ...
+        final EinToObjectMap<String> map = new EinToObjectMap<>();
+
+        // ... when we map EINs given as text and in packed form, ...
+        assertNull("There should be no previous value.", map.put("12-3456789", "first"));
+        assertEquals("Previous value should be returned.", "first", map.put(123456789, "second"));
+
+        // ... then appropriate values should be returned.
+        assertEquals("Value mapped to EIN is invalid.", "second", map.get("123456789"));
+        assertTrue("Map should contain EIN.", map.containsKey(123456789));
+        assertEquals("Removed value is invalid.", "second", map.remove(123456789));
+        assertTrue("Map should be empty.", map.isEmpty());
+    }
+
+}
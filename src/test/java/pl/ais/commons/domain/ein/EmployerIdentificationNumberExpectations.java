@@ -1,11 +1,14 @@
 package pl.ais.commons.domain.ein;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.springframework.util.SerializationUtils.deserialize;
 import static org.springframework.util.SerializationUtils.serialize;
 
 import org.junit.Test;
 
+import com.google.common.io.BaseEncoding;
+
 /**
  * Verifies {@link EmployerIdentificationNumber} expectations.
  *
@@ -15,6 +18,61 @@ import org.junit.Test;
 @SuppressWarnings("static-method")
 public class EmployerIdentificationNumberExpectations {
 
+    /**
+     * Serialized form of {@code 12-3456789} EIN, written by the version keeping EIN as prefix code and sequence number.
+     */
+    private static final String SERIALIZED_BY_1_0_1 = "rO0ABXNyADZwbC5haXMuY29tbW9ucy5kb21haW4uZWluLkVtcGxveWVySWRl"
+        + "bnRpZmljYXRpb25OdW1iZXL6KH0AUJ4VIwIAAkwACnByZWZpeENvZGV0ABJMamF2YS9sYW5nL1N0cmluZztMAA5zZXF1ZW5jZU51bWJl"
+        + "cnEAfgABeHB0AAIxMnQABzM0NTY3ODk=";
+
+    /**
+     * Packed representation should be equivalent to the one built from prefix code and sequence number.
+     */
+    @Test
+    public void shouldBeEquivalentToPackedRepresentation() {
+
+        // Given EIN having leading zeros, ...
+        final EmployerIdentificationNumber ein = new EmployerIdentificationNumber("01", "0000042");
+
+        // ... when we create EIN from its packed representation, ...
+        final EmployerIdentificationNumber packed = EmployerIdentificationNumber.of(ein.asInt());
+
+        // ... then both should be equal, and provide same parts.
+        assertEquals("Packed EIN differs from initial one.", ein, packed);
+        assertEquals("Packed EIN value is invalid.", 10000042, packed.asInt());
+        assertEquals("Prefix code of packed EIN is invalid.", "01", packed.getPrefixCode());
+        assertEquals("Sequence number of packed EIN is invalid.", "0000042", packed.getSequenceNumber());
+        assertEquals("Packed EIN representation is invalid.", "01-0000042", packed.toString());
+    }
+
+    /**
+     * {@link EmployerIdentificationNumber} should be serialized in more compact form than the one used by previous versions.
+     */
+    @Test
+    public void shouldBeSerializedCompactly() {
+
+        // Given EIN, when we serialize it, ...
+        final byte[] serialized = serialize(new EmployerIdentificationNumber("12", "3456789"));
+
+        // ... then serialized form should be smaller than the one written by previous version.
+        assertTrue("Serialized form should be smaller than the previous one.",
+            serialized.length < BaseEncoding.base64().decode(SERIALIZED_BY_1_0_1).length);
+    }
+
+    /**
+     * {@link EmployerIdentificationNumber} serialized by previous versions should be deserializable.
+     */
+    @Test
+    public void shouldDeserializePreviousSerializedForm() {
+
+        // Given EIN serialized by previous version, when we deserialize it, ...
+        final Object deserialized = deserialize(BaseEncoding.base64().decode(SERIALIZED_BY_1_0_1));
+
+        // ... then it should be equal to the original one.
+        assertEquals("Deserialized instance differs from initial one.",
+            new EmployerIdentificationNumber("12", "3456789"), deserialized);
+    }
+
     /**
      * {@link EmployerIdentificationNumber} should be serializable.
      */
@@ -50,4 +108,12 @@ public class EmployerIdentificationNumberExpectations {
         new EmployerIdentificationNumber("12", null);
     }
 
+    /**
+     * Should raise {@link IllegalArgumentException} when packed value has more than 9 digits.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRaiseExceptionOnTooLargePackedValue() {
+        EmployerIdentificationNumber.of(1000000000);
+    }
+
 }
@@ -1,8 +1,14 @@
 package pl.ais.commons.domain.ein;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
 import java.text.ParseException;
 import java.util.Locale;
 
@@ -34,6 +40,33 @@ public class EmployerIdentificationNumberFormatterExpectations {
         assertEquals("Should be able to format EIN as 00-0000000", "12-3456789", convertedValue);
     }
 
+    /**
+     * Should print EIN directly into the caller-supplied buffer, and cache its canonical representation.
+     *
+     * @throws IOException in case of problems with writing into the buffer
+     */
+    @Test
+    public void shouldPrintEINIntoBuffer() throws IOException {
+
+        // Given EIN formatter, and EIN, ...
+        final EmployerIdentificationNumberFormatter formatter = EmployerIdentificationNumberFormatter.getInstance();
+        final EmployerIdentificationNumber ein = EmployerIdentificationNumber.of(1234567);
+
+        // ... when we print it into buffers, ...
+        final StringBuilder builder = new StringBuilder("EIN:");
+        ein.printTo(builder).append(',');
+        formatter.printTo(null, builder);
+        final StringWriter writer = new StringWriter();
+        formatter.printTo(ein, writer);
+
+        // ... then its canonical representation should be appended, and cached.
+        assertEquals("EIN should be appended to the builder.", "EIN:00-1234567,", builder.toString());
+        assertEquals("EIN should be written to the writer.", "00-1234567", writer.toString());
+        assertTrue("Canonical representation should be cached.", ein.toString() == ein.toString());
+        assertEquals("Cached representation should be appended.", "00-1234567",
+            ein.printTo(new StringBuilder()).toString());
+    }
+
     /**
      * Should be able to parse {@link EmployerIdentificationNumber} from {@link String}.
      *
@@ -52,6 +85,54 @@ public class EmployerIdentificationNumberFormatterExpectations {
         assertEquals("Should be able to parse EIN.", new EmployerIdentificationNumber("12", "3456789"), ein);
     }
 
+    /**
+     * Should be able to parse {@link EmployerIdentificationNumber} from digits only {@link String}.
+     *
+     * @throws ParseException in case of problems with parsing EIN
+     */
+    @Test
+    public void shouldBeAbleToParseEINFromDigitsOnlyString() throws ParseException {
+
+        // Given EIN formatter, ...
+        final EmployerIdentificationNumberFormatter formatter = EmployerIdentificationNumberFormatter.getInstance();
+
+        // ... when we use formatter to parse EIN from digits only string, ...
+        final EmployerIdentificationNumber ein = formatter.parse("123456789", Locale.US);
+
+        // ... then it should return appropriate EIN.
+        assertEquals("Should be able to parse EIN.", new EmployerIdentificationNumber("12", "3456789"), ein);
+    }
+
+    /**
+     * Should parse EIN from the range of larger character sequence.
+     *
+     * @throws ParseException in case of problems with parsing EIN
+     */
+    @Test
+    public void shouldParseEINFromTextRange() throws ParseException {
+
+        // Given EIN formatter, and CSV line held in character buffer, ...
+        final EmployerIdentificationNumberFormatter formatter = EmployerIdentificationNumberFormatter.getInstance();
+        final CharBuffer line = CharBuffer.wrap("ACME,12-3456789,987654321,12-34X6789".toCharArray());
+
+        // ... when we parse its fields, then EINs should be parsed properly, and invalid one should be reported.
+        assertEquals("EIN differs.", new EmployerIdentificationNumber("12", "3456789"), formatter.parse(line, 5, 15));
+        assertEquals("EIN differs.", EmployerIdentificationNumber.of(987654321), formatter.tryParse(line, 16, 25));
+        assertNull("Invalid EIN should not be parsed.", formatter.tryParse(line, 26, 36));
+        try {
+            formatter.parse(line, 26, 36);
+            fail("Invalid EIN should not be parsed.");
+        } catch (ParseException exception) {
+            assertEquals("Error offset should point to the field.", 26, exception.getErrorOffset());
+        }
+        try {
+            formatter.tryParseAsInt(line, 26, 37);
+            fail("Range exceeding the text should be rejected.");
+        } catch (IndexOutOfBoundsException exception) {
+            assertEquals("EIN should be parsed from valid range.", 987654321, formatter.tryParseAsInt(line, 16, 25));
+        }
+    }
+
     /**
      * Should convert {@code null} (EIN) into {@code null} (String).
      */
@@ -102,4 +183,38 @@ public class EmployerIdentificationNumberFormatterExpectations {
         // ... exception should be raised.
     }
 
+    /**
+     * @throws ParseException
+     */
+    @SuppressWarnings("unused")
+    @Test(expected = ParseException.class)
+    public void shouldRaiseExceptionWhenParsingMisplacedHyphen() throws ParseException {
+
+        // Given EIN formatter, ...
+        final EmployerIdentificationNumberFormatter formatter = EmployerIdentificationNumberFormatter.getInstance();
+
+        // ... when we use formatter to parse String having hyphen at wrong position, ...
+        final EmployerIdentificationNumber ein = formatter.parse("123-456789", Locale.US);
+
+        // ... exception should be raised.
+    }
+
+    /**
+     * Should verify and parse EIN without raising any exception.
+     */
+    @Test
+    public void shouldVerifyAndTryParseWithoutException() {
+
+        // Given EIN formatter, ...
+        final EmployerIdentificationNumberFormatter formatter = EmployerIdentificationNumberFormatter.getInstance();
+
+        // ... when we verify and try to parse valid and invalid text, then neither should raise exception.
+        assertTrue("Valid EIN should be recognized.", formatter.isValid(new StringBuilder("12-3456789")));
+        assertFalse("Invalid EIN should be recognized.", formatter.isValid("12-345678"));
+        assertEquals("Should be able to parse EIN.", new EmployerIdentificationNumber("12", "3456789"),
+            formatter.tryParse("123456789"));
+        assertNull("Should parse invalid EIN into null.", formatter.tryParse("1234"));
+        assertNull("Should parse null into null.", formatter.tryParse(null));
+    }
+
 }
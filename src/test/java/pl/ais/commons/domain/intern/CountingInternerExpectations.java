@@ -0,0 +1,81 @@
+package pl.ais.commons.domain.intern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import pl.ais.commons.domain.ein.EmployerIdentificationNumber;
+import pl.ais.commons.domain.ein.EmployerIdentificationNumberFormatter;
+import pl.ais.commons.domain.phone.PhoneNumber;
+import pl.ais.commons.domain.phone.PhoneNumberFormatter;
+
+/**
+ * Verifies {@link CountingInterner} expectations.
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@SuppressWarnings("static-method")
+public class CountingInternerExpectations {
+
+    /**
+     * Should record hits and misses of the interned instances.
+     */
+    @Test
+    public void shouldRecordHitRate() {
+
+        // Given weak interner, ...
+        final CountingInterner<EmployerIdentificationNumber> interner = CountingInterner.weak();
+
+        // ... when we intern equal instances, ...
+        final EmployerIdentificationNumber first = EmployerIdentificationNumber.of(123456789);
+        assertSame("First instance should be interned.", first, interner.intern(first));
+        for (int iteration = 0; iteration < 2; iteration++) {
+            assertSame("Equal instance should be replaced.", first,
+                interner.intern(EmployerIdentificationNumber.of(123456789)));
+        }
+        interner.intern(EmployerIdentificationNumber.of(987654321));
+
+        // ... then hits and misses should be recorded.
+        assertEquals("Hit count is invalid.", 2, interner.hitCount());
+        assertEquals("Miss count is invalid.", 2, interner.missCount());
+        assertEquals("Request count is invalid.", 4, interner.requestCount());
+        assertEquals("Hit rate is invalid.", 0.5, interner.hitRate(), 0.0);
+
+        // ... while re-interning canonical instance should be counted as a miss.
+        assertSame("Canonical instance should be kept.", first, interner.intern(first));
+        assertEquals("Re-interned canonical instance should be counted as a miss.", 3, interner.missCount());
+    }
+
+    /**
+     * Interning formatters should provide canonical value objects.
+     */
+    @Test
+    public void shouldProvideCanonicalValueObjects() {
+
+        // Given interning formatters, when we parse the same values repeatedly, ...
+        final EmployerIdentificationNumberFormatter einFormatter = EmployerIdentificationNumberFormatter.getInstance()
+            .interning();
+        final PhoneNumberFormatter phoneNumberFormatter = PhoneNumberFormatter.getE164Instance().interning();
+        final EmployerIdentificationNumber ein = einFormatter.tryParse("12-3456789");
+        final PhoneNumber phoneNumber = phoneNumberFormatter.tryParse("(212) 555-1234");
+
+        // ... then the same instances should be provided, ...
+        assertSame("EIN should be canonical.", ein, einFormatter.tryParse("123456789"));
+        assertSame("EIN should be canonical.", ein, EmployerIdentificationNumber.canonical(123456789));
+        assertSame("Phone number should be canonical.", phoneNumber, phoneNumberFormatter.tryParse("212.555.1234"));
+        assertSame("Phone number should be canonical.", phoneNumber, PhoneNumber.canonical(2125551234L));
+
+        // ... while the non-interning formatters, and the interning ones, should keep their other properties.
+        assertNotSame("EIN should not be canonical.", ein,
+            EmployerIdentificationNumberFormatter.getInstance().tryParse("123456789"));
+        assertNull("Strict interning formatter should reject unassigned prefix.",
+            EmployerIdentificationNumberFormatter.getStrictInstance().interning().tryParse("07-1234567"));
+        assertEquals("Interning formatter should print phone numbers in E.164 form.", "+12125551234",
+            phoneNumberFormatter.print(phoneNumber, null));
+    }
+
+}
@@ -0,0 +1,142 @@
+package pl.ais.commons.domain.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import pl.ais.commons.domain.ein.EmployerIdentificationNumberFormatter;
+import pl.ais.commons.domain.phone.PhoneNumberFormatter;
+import pl.ais.commons.domain.security.DecryptableValue;
+import pl.ais.commons.domain.security.PassThroughCryptographicService;
+import pl.ais.commons.domain.ssn.SocialSecurityNumber;
+import pl.ais.commons.domain.ssn.SocialSecurityNumberCache;
+import pl.ais.commons.domain.ssn.SocialSecurityNumberFactory;
+
+/**
+ * Verifies {@link MetricsRecorder} expectations.
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@SuppressWarnings("static-method")
+public class MetricsRecorderExpectations {
+
+    /**
+     * Disables the instrumentation after each test.
+     */
+    @After
+    public void uninstall() {
+        Instrumentation.uninstall();
+    }
+
+    /**
+     * Should record the events of the instrumented hot paths.
+     */
+    @Test
+    public void shouldRecordInstrumentedEvents() {
+
+        // Given installed recorder, ...
+        final MetricsRecorder recorder = new MetricsRecorder();
+        Instrumentation.install(recorder);
+
+        // ... when we create SSN, and decompose it and its copy sharing the cache, ...
+        final SocialSecurityNumberCache cache = new SocialSecurityNumberCache(10, 1, TimeUnit.MINUTES);
+        final SocialSecurityNumberFactory factory = SocialSecurityNumberFactory.builder(
+            new PassThroughCryptographicService()).cache(cache).build();
+        final SocialSecurityNumber ssn = factory.createSocialSecurityNumber("123", "45", "6789");
+        ssn.getAreaNumber();
+        ssn.getGroupNumber();
+        factory.restoreSocialSecurityNumber(ssn.getRepresentation()).getSerialNumber();
+
+        // ... and fail to parse some values, ...
+        EmployerIdentificationNumberFormatter.getInstance().tryParse("12-345678X");
+        EmployerIdentificationNumberFormatter.getInstance().tryParse(null);
+        PhoneNumberFormatter.getInstance().tryParseAsLong("555-1234", 0, 8);
+
+        // ... then the events should be recorded.
+        assertEquals("SSN should be encrypted once.", 1, recorder.count(MetricsEvent.SSN_ENCRYPT));
+        assertEquals("SSN should be decrypted once.", 1, recorder.count(MetricsEvent.SSN_DECRYPT));
+        assertEquals("Cache should answer the copy.", 1, recorder.count(MetricsEvent.SSN_CACHE_HIT));
+        assertEquals("EIN parse failure should be recorded.", 1, recorder.count(MetricsEvent.EIN_PARSE_FAILURE));
+        assertEquals("Phone number parse failure should be recorded.", 1,
+            recorder.count(MetricsEvent.PHONE_NUMBER_PARSE_FAILURE));
+        assertTrue("Decryption duration should be recorded.",
+            recorder.histogram(MetricsEvent.SSN_DECRYPT).totalNanos() > 0);
+    }
+
+    /**
+     * Should record the durations of failed encryptions and decryptions too.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldRecordFailedOperations() {
+
+        // Given installed recorder, and failing encryptor and representation, ...
+        final MetricsRecorder recorder = new MetricsRecorder();
+        Instrumentation.install(recorder);
+        final SocialSecurityNumberFactory factory = new SocialSecurityNumberFactory(value -> {
+            throw new IllegalStateException("Encryption failed.");
+        });
+        final DecryptableValue<String> representation = mock(DecryptableValue.class);
+        when(representation.decrypt()).thenThrow(new IllegalStateException("Decryption failed."));
+
+        // ... when encryption and decryption fail, ...
+        assertFailure(() -> factory.createSocialSecurityNumber("123", "45", "6789"));
+        assertFailure(() -> new SocialSecurityNumber(representation).getAreaNumber());
+
+        // ... then they should be recorded anyway.
+        assertEquals("Failed encryption should be recorded.", 1, recorder.count(MetricsEvent.SSN_ENCRYPT));
+        assertEquals("Failed decryption should be recorded.", 1, recorder.count(MetricsEvent.SSN_DECRYPT));
+    }
+
+    private static void assertFailure(final Runnable operation) {
+        try {
+            operation.run();
+            fail("Operation should fail.");
+        } catch (IllegalStateException exception) {
+            assertTrue("Failure should be reported.", exception.getMessage().endsWith("failed."));
+        }
+    }
+
+    /**
+     * Should estimate the percentiles of the recorded durations.
+     */
+    @Test
+    public void shouldEstimatePercentiles() {
+
+        // Given latency histogram, when we record the durations, ...
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int duration = 1; duration <= 1000; duration++) {
+            histogram.record(duration);
+        }
+
+        // ... then the percentiles should be estimated up to factor of 2.
+        assertEquals("Count is invalid.", 1000, histogram.count());
+        assertEquals("Mean is invalid.", 500.5, histogram.meanNanos(), 0.0);
+        assertEquals("Median is invalid.", 511, histogram.percentileNanos(50));
+        assertEquals("Maximum is invalid.", 1023, histogram.percentileNanos(100));
+        assertEquals("Empty histogram percentile should be zero.", 0, new LatencyHistogram().percentileNanos(99));
+    }
+
+    /**
+     * Should not report anything when instrumentation is disabled.
+     */
+    @Test
+    public void shouldBeDisabledByDefault() {
+
+        // Given disabled instrumentation, then no listener should be installed.
+        assertFalse("Instrumentation should be disabled.", Instrumentation.isEnabled());
+        assertNull("No listener should be installed.", Instrumentation.listener());
+        assertEquals("Clock should not be read.", 0, Instrumentation.start(null));
+    }
+
+}
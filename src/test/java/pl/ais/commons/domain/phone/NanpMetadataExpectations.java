@@ -0,0 +1,58 @@
+package pl.ais.commons.domain.phone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Verifies {@link NanpMetadata} expectations.
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@SuppressWarnings("static-method")
+public class NanpMetadataExpectations {
+
+    /**
+     * Should reject area and exchange codes not allowed by the numbering plan.
+     */
+    @Test
+    public void shouldRejectInvalidCodes() {
+
+        // Given valid and invalid codes, when we validate them, then only the valid ones should be accepted.
+        assertTrue("212 should be valid area code.", NanpMetadata.isValidNpa(212));
+        assertFalse("Area code starting with 1 should be invalid.", NanpMetadata.isValidNpa(123));
+        assertFalse("Area code starting with 0 should be invalid.", NanpMetadata.isValidNpa(23));
+        assertFalse("N11 area code should be invalid.", NanpMetadata.isValidNpa(411));
+        assertFalse("N9X area code should be invalid.", NanpMetadata.isValidNpa(295));
+        assertTrue("555 should be valid exchange code.", NanpMetadata.isValidNxx(555));
+        assertFalse("N11 exchange code should be invalid.", NanpMetadata.isValidNxx(911));
+        assertFalse("Exchange code starting with 1 should be invalid.", NanpMetadata.isValidNxx(155));
+        assertTrue("212-555-1234 should be valid.", NanpMetadata.isValid(PhoneNumber.of(2125551234L)));
+        assertFalse("212-155-1234 should be invalid.", NanpMetadata.isValid(2121551234L));
+        assertFalse("Undefined phone number should be invalid.", NanpMetadata.isValid(new PhoneNumber()));
+    }
+
+    /**
+     * Should resolve region and time zone of the area codes.
+     */
+    @Test
+    public void shouldResolveRegionAndTimeZone() {
+
+        // Given phone numbers, when we look up their metadata, then it should be resolved properly.
+        final PhoneNumber phoneNumber = new PhoneNumber("212", "555", "1234");
+        assertEquals("212 should be located in NY.", "NY", NanpMetadata.regionOf(phoneNumber));
+        assertEquals("212 should observe Eastern Time.", -300, NanpMetadata.utcOffsetOf(phoneNumber));
+        assertEquals("415 should be located in CA.", "CA", NanpMetadata.regionOf(415));
+        assertEquals("709 should observe Newfoundland Time.", -210, NanpMetadata.utcOffsetOf(709));
+        assertEquals("915 should observe Mountain Time.", -420, NanpMetadata.utcOffsetOf(915));
+        assertNull("555 should not be assigned to any region.", NanpMetadata.regionOf(555));
+        assertEquals("555 should have unknown time zone.", NanpMetadata.UNKNOWN_OFFSET, NanpMetadata.utcOffsetOf(555));
+        assertEquals("Area code of packed phone number should be extracted.", 212, NanpMetadata.npaOf(2125551234L));
+        assertEquals("Exchange code of packed phone number should be extracted.", 555, NanpMetadata.nxxOf(2125551234L));
+    }
+
+}
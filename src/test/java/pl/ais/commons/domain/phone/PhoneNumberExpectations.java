@@ -0,0 +1,123 @@
+package pl.ais.commons.domain.phone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.util.SerializationUtils.deserialize;
+import static org.springframework.util.SerializationUtils.serialize;
+
+import org.junit.Test;
+
+import com.google.common.io.BaseEncoding;
+
+/**
+ * Verifies {@link PhoneNumber} expectations.
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@SuppressWarnings("static-method")
+public class PhoneNumberExpectations {
+
+    /**
+     * Serialized form of {@code 212-555-1234} phone number, written by the version keeping it as 10-digit string.
+     */
+    private static final String SERIALIZED_BY_1_0_1 = "rO0ABXNyACdwbC5haXMuY29tbW9ucy5kb21haW4ucGhvbmUuUGhvbmVOdW1i"
+        + "ZXIruzWgjagofgIAAUwABXZhbHVldAASTGphdmEvbGFuZy9TdHJpbmc7eHB0AAoyMTI1NTUxMjM0";
+
+    /**
+     * Packed representation should be equivalent to the one built from the components.
+     */
+    @Test
+    public void shouldBeEquivalentToPackedRepresentation() {
+
+        // Given phone number having leading zeros in its components, ...
+        final PhoneNumber phoneNumber = new PhoneNumber("212", "055", "0034");
+
+        // ... when we create phone number from its packed representation, ...
+        final PhoneNumber packed = PhoneNumber.of(phoneNumber.toLong());
+
+        // ... then both should be equal, and provide same components.
+        assertEquals("Packed phone number differs from initial one.", phoneNumber, packed);
+        assertEquals("Packed phone number value is invalid.", 2120550034L, packed.toLong());
+        assertEquals("Area code of packed phone number is invalid.", "212", packed.getAreaCode());
+        assertEquals("Exchange code of packed phone number is invalid.", "055", packed.getExchangeCode());
+        assertEquals("Subscriber number of packed phone number is invalid.", "0034", packed.getSubscriberNumber());
+        assertEquals("Packed phone number representation is invalid.", "212-055-0034", packed.toString());
+    }
+
+    /**
+     * {@link PhoneNumber} should be serializable.
+     */
+    @Test
+    public void shouldBeSerializable() {
+
+        // Given phone number, ...
+        final PhoneNumber phoneNumber = new PhoneNumber("212", "555", "1234");
+
+        // ... when we serialize and deserialize it, ...
+        final PhoneNumber deserialized = (PhoneNumber) deserialize(serialize(phoneNumber));
+
+        // ... then both instances should be equal and have same hash code.
+        assertTrue("Deserialized instance differs from initial one.",
+            (phoneNumber.hashCode() == deserialized.hashCode()) && phoneNumber.equals(deserialized));
+    }
+
+    /**
+     * {@link PhoneNumber} should be serialized in more compact form than the one used by previous versions.
+     */
+    @Test
+    public void shouldBeSerializedCompactly() {
+
+        // Given phone number, when we serialize it, ...
+        final byte[] serialized = serialize(new PhoneNumber("212", "555", "1234"));
+
+        // ... then serialized form should be smaller than the one written by previous version.
+        assertTrue("Serialized form should be smaller than the previous one.",
+            serialized.length < BaseEncoding.base64().decode(SERIALIZED_BY_1_0_1).length);
+    }
+
+    /**
+     * {@link PhoneNumber} constructed without any components should be serializable.
+     */
+    @Test
+    public void shouldSerializeUndefinedPhoneNumber() {
+
+        // Given phone number constructed without any components, when we serialize and deserialize it, ...
+        final PhoneNumber deserialized = (PhoneNumber) deserialize(serialize(new PhoneNumber()));
+
+        // ... then it should be equal to the original one.
+        assertEquals("Deserialized instance differs from initial one.", new PhoneNumber(), deserialized);
+    }
+
+    /**
+     * {@link PhoneNumber} serialized by previous versions should be deserializable.
+     */
+    @Test
+    public void shouldDeserializePreviousSerializedForm() {
+
+        // Given phone number serialized by previous version, when we deserialize it, ...
+        final Object deserialized = deserialize(BaseEncoding.base64().decode(SERIALIZED_BY_1_0_1));
+
+        // ... then it should be equal to the original one.
+        assertEquals("Deserialized instance differs from initial one.", new PhoneNumber("212", "555", "1234"),
+            deserialized);
+    }
+
+    /**
+     * Should raise {@link IllegalArgumentException} when any component contains non-digit characters.
+     */
+    @SuppressWarnings("unused")
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRaiseExceptionOnNonDigitComponent() {
+        new PhoneNumber("212", "5a5", "1234");
+    }
+
+    /**
+     * Should raise {@link IllegalArgumentException} when packed value has more than 10 digits.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRaiseExceptionOnTooLargePackedValue() {
+        PhoneNumber.of(10000000000L);
+    }
+
+}
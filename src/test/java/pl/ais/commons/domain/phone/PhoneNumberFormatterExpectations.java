@@ -0,0 +1,222 @@
+package pl.ais.commons.domain.phone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.text.ParseException;
+import java.util.Locale;
+
+import org.junit.Test;
+
+/**
+ * Verifies {@link PhoneNumberFormatter} expectations.
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@SuppressWarnings("static-method")
+public class PhoneNumberFormatterExpectations {
+
+    /**
+     * Should be able to convert {@link PhoneNumber} to {@link String} in canonical form.
+     */
+    @Test
+    public void shouldBeAbleToConvertPhoneNumberToString() {
+
+        // Given phone number formatter, ...
+        final PhoneNumberFormatter formatter = PhoneNumberFormatter.getInstance();
+
+        // ... when we use formatter to convert phone number into String, ...
+        final String convertedValue = formatter.print(new PhoneNumber("212", "555", "1234"), Locale.US);
+
+        // ... then it should return phone number string representation.
+        assertEquals("Should be able to format phone number as 000-000-0000", "212-555-1234", convertedValue);
+    }
+
+    /**
+     * Should be able to convert {@link PhoneNumber} to {@link String} in E.164 form.
+     */
+    @Test
+    public void shouldBeAbleToConvertPhoneNumberToE164String() {
+
+        // Given E.164 phone number formatter, ...
+        final PhoneNumberFormatter formatter = PhoneNumberFormatter.getE164Instance();
+
+        // ... when we use formatter to convert phone number into String, ...
+        final String convertedValue = formatter.print(new PhoneNumber("212", "555", "1234"), Locale.US);
+
+        // ... then it should return phone number E.164 representation.
+        assertEquals("Should be able to format phone number as +10000000000", "+12125551234", convertedValue);
+    }
+
+    /**
+     * Should print phone number constructed without any components the same way in E.164 and canonical form.
+     *
+     * @throws IOException in case of problems with writing into the buffer
+     */
+    @Test
+    public void shouldPrintUndefinedPhoneNumberInE164Form() throws IOException {
+
+        // Given E.164 phone number formatter, and phone number constructed without any components, ...
+        final PhoneNumberFormatter formatter = PhoneNumberFormatter.getE164Instance();
+        final PhoneNumber phoneNumber = new PhoneNumber();
+
+        // ... when we print it, then it should be printed as its canonical representation.
+        assertEquals("Undefined phone number should be printed.", "null-null-null",
+            formatter.print(phoneNumber, Locale.US));
+        assertEquals("Undefined phone number should be appended.", "null-null-null",
+            formatter.printTo(phoneNumber, new StringBuilder()).toString());
+    }
+
+    /**
+     * Should print phone numbers directly into the caller-supplied buffer, and cache their canonical representation.
+     *
+     * @throws IOException in case of problems with writing into the buffer
+     */
+    @Test
+    public void shouldPrintPhoneNumberIntoBuffer() throws IOException {
+
+        // Given phone number, ...
+        final PhoneNumber phoneNumber = PhoneNumber.of(2125551234L);
+
+        // ... when we print it into buffers, ...
+        final StringBuilder builder = phoneNumber.printTo(new StringBuilder()).append(',');
+        PhoneNumberFormatter.getE164Instance().printTo(phoneNumber, builder).append(',');
+        new PhoneNumber().printTo(builder);
+        final StringWriter writer = new StringWriter();
+        PhoneNumberFormatter.getInstance().printTo(phoneNumber, writer);
+
+        // ... then its representations should be appended, and the canonical one should be cached.
+        assertEquals("Phone number should be appended to the builder.", "212-555-1234,+12125551234,null-null-null",
+            builder.toString());
+        assertEquals("Phone number should be written to the writer.", "212-555-1234", writer.toString());
+        assertTrue("Canonical representation should be cached.", phoneNumber.toString() == phoneNumber.toString());
+    }
+
+    /**
+     * Should be able to parse {@link PhoneNumber} written in any of the supported notations.
+     *
+     * @throws ParseException in case of problems with parsing phone number
+     */
+    @Test
+    public void shouldBeAbleToParsePhoneNumberFromSupportedNotations() throws ParseException {
+
+        // Given phone number formatter, ...
+        final PhoneNumberFormatter formatter = PhoneNumberFormatter.getInstance();
+        final PhoneNumber expected = new PhoneNumber("212", "555", "1234");
+
+        // ... when we use formatter to parse phone number written in any supported notation, ...
+        for (final String text : new String[] {"(212) 555-1234", "(212)555-1234", "212.555.1234", "212-555-1234",
+            "2125551234", "+1 212 555 1234", "+12125551234", "1-212-555-1234", "1 (212) 555-1234"}) {
+
+            // ... then it should return appropriate phone number.
+            assertEquals("Should be able to parse phone number: " + text, expected, formatter.parse(text, Locale.US));
+        }
+    }
+
+    /**
+     * Should parse phone number from the range of larger character sequence.
+     *
+     * @throws ParseException in case of problems with parsing phone number
+     */
+    @Test
+    public void shouldParsePhoneNumberFromTextRange() throws ParseException {
+
+        // Given phone number formatter, and the text holding multiple fields, ...
+        final PhoneNumberFormatter formatter = PhoneNumberFormatter.getInstance();
+        final StringBuilder text = new StringBuilder("tel:(212) 555-1234;fax:555-1234");
+
+        // ... when we parse its fields, then phone number should be parsed properly, and invalid one reported.
+        assertEquals("Phone number differs.", PhoneNumber.of(2125551234L), formatter.parse(text, 4, 18));
+        assertNull("Invalid phone number should not be parsed.", formatter.tryParse(text, 23, 31));
+        assertEquals("Phone number differs.", 2125551234L, formatter.tryParseAsLong(text, 4, 18));
+        try {
+            formatter.tryParseAsLong(text, 23, 32);
+            fail("Range exceeding the text should be rejected.");
+        } catch (IndexOutOfBoundsException exception) {
+            assertEquals("Invalid phone number should be reported.", PhoneNumberFormatter.INVALID,
+                formatter.tryParseAsLong(text, 23, 31));
+        }
+    }
+
+    /**
+     * Should convert {@code null} (phone number) into {@code null} (String).
+     */
+    @Test
+    public void shouldConvertNullIntoNull() {
+
+        // Given phone number formatter, ...
+        final PhoneNumberFormatter formatter = PhoneNumberFormatter.getInstance();
+
+        // ... when we use formatter to convert null into String, ...
+        final String convertedValue = formatter.print(null, Locale.US);
+
+        // ... then it should return null.
+        assertNull("Should convert null into null", convertedValue);
+    }
+
+    /**
+     * Should parse {@code null} (String) into {@code null} (phone number).
+     *
+     * @throws ParseException in case of problems with parsing phone number
+     */
+    @Test
+    public void shouldParseNullIntoNull() throws ParseException {
+
+        // Given phone number formatter, ...
+        final PhoneNumberFormatter formatter = PhoneNumberFormatter.getInstance();
+
+        // ... when we use formatter to parse null String, ...
+        final PhoneNumber phoneNumber = formatter.parse(null, Locale.US);
+
+        // ... then it should return null.
+        assertNull("Should parse null into null", phoneNumber);
+    }
+
+    /**
+     * Should raise {@link ParseException} when parsing text written in unsupported notation.
+     */
+    @Test
+    public void shouldRaiseExceptionWhenParsingInvalidPhoneNumber() {
+
+        // Given phone number formatter, ...
+        final PhoneNumberFormatter formatter = PhoneNumberFormatter.getInstance();
+
+        // ... when we use formatter to parse invalid String, ...
+        for (final String text : new String[] {"", "212555123", "21255512345", "(212 555-1234", "212) 555-1234",
+            "+2 212 555 1234", "212--555-1234", "212-555-1234 ", "2125-55-1234", "+1+2125551234"}) {
+            try {
+                formatter.parse(text, Locale.US);
+                fail("Should raise exception when parsing: " + text);
+            } catch (ParseException exception) {
+
+                // ... exception should be raised.
+                continue;
+            }
+        }
+    }
+
+    /**
+     * Should verify and parse phone number without raising any exception.
+     */
+    @Test
+    public void shouldVerifyAndTryParseWithoutException() {
+
+        // Given phone number formatter, ...
+        final PhoneNumberFormatter formatter = PhoneNumberFormatter.getInstance();
+
+        // ... when we verify and try to parse valid and invalid text, then neither should raise exception.
+        assertTrue("Valid phone number should be recognized.", formatter.isValid(new StringBuilder("(212) 555-1234")));
+        assertFalse("Invalid phone number should be recognized.", formatter.isValid("212-555-123"));
+        assertEquals("Should be able to parse phone number.", new PhoneNumber("212", "555", "1234"),
+            formatter.tryParse("+1 212 555 1234"));
+        assertNull("Should parse invalid phone number into null.", formatter.tryParse("212 555 12345"));
+        assertNull("Should parse null into null.", formatter.tryParse(null));
+    }
+
+}
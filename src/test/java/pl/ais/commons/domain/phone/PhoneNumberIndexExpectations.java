@@ -0,0 +1,85 @@
+package pl.ais.commons.domain.phone;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+/**
+ * Verifies {@link PhoneNumberIndex} expectations.
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@SuppressWarnings("static-method")
+public class PhoneNumberIndexExpectations {
+
+    /**
+     * Should answer area code and exchange prefix queries.
+     */
+    @Test
+    public void shouldAnswerPrefixQueries() {
+
+        // Given index built from unordered, repeated phone numbers, ...
+        final PhoneNumberIndex index = PhoneNumberIndex.builder()
+            .add(new PhoneNumber("212", "555", "1234"))
+            .addAll(2125550000L, 2125559999L, 2125560000L, 2125549999L, 2125551234L, 2135550000L, 2115559999L)
+            .build();
+
+        // ... when we query it by prefixes, ...
+        final PhoneNumberIndex area = index.withAreaCode(212);
+        final PhoneNumberIndex exchange = index.withExchange(212, 555);
+
+        // ... then only the numbers having given prefix should be provided, in ascending order.
+        assertEquals("Duplicates should be removed.", 7, index.size());
+        assertEquals("Invalid area code count.", 5, area.size());
+        assertEquals("Invalid area code count.", 5, index.countByAreaCode(212));
+        assertArrayEquals("Invalid exchange numbers.", new long[] {2125550000L, 2125551234L, 2125559999L},
+            exchange.toArray());
+        assertEquals("Invalid exchange count.", 3, index.countByExchange(212, 555));
+        assertEquals("Sub-index should be queryable.", 3, area.countByExchange(212, 555));
+        assertEquals("Missing area code should have no numbers.", 0, index.countByAreaCode(999));
+        assertTrue("Missing exchange should be empty.", index.withExchange(213, 554).isEmpty());
+        assertEquals("Invalid first number.", 2115559999L, index.get(0));
+        assertEquals("Invalid first exchange number.", 2125550000L, exchange.get(0));
+        assertTrue("Index should contain added number.", index.contains(PhoneNumber.of(2125560000L)));
+        assertFalse("Sub-index should contain numbers having its prefix only.", exchange.contains(2125560000L));
+    }
+
+    /**
+     * Should iterate over the numbers without creating {@link PhoneNumber} instances.
+     */
+    @Test
+    public void shouldIterateOverPackedNumbers() {
+
+        // Given index of many numbers, ...
+        final PhoneNumberIndex.Builder builder = PhoneNumberIndex.builder(3);
+        for (long number = 9999L; number >= 0; number--) {
+            builder.add(2125550000L + number * 3 % 10000);
+        }
+        final PhoneNumberIndex index = builder.build();
+
+        // ... when we iterate over its sub-index, ...
+        final AtomicLong sum = new AtomicLong();
+        index.withExchange(212, 555).forEach(sum::addAndGet);
+
+        // ... then all the numbers having given prefix should be visited.
+        assertEquals("Invalid size.", 10000, index.size());
+        assertEquals("Invalid sum.", 10000L * 2125550000L + 9999L * 10000L / 2, sum.get());
+        assertEquals("Invalid stream sum.", sum.get(), index.withAreaCode(212).stream().sum());
+        assertEquals("Empty index should be empty.", 0, PhoneNumberIndex.of().size());
+    }
+
+    /**
+     * Should reject values not being valid packed phone numbers.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectInvalidNumbers() {
+        PhoneNumberIndex.of(2125551234L, PhoneNumber.MAX_VALUE + 1);
+    }
+
+}
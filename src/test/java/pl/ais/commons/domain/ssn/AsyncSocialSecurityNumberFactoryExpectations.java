@@ -0,0 +1,200 @@
+package pl.ais.commons.domain.ssn;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import pl.ais.commons.domain.security.CryptographicServiceSupport;
+import pl.ais.commons.domain.security.DecryptableValue;
+import pl.ais.commons.domain.security.PassThroughCryptographicService;
+
+/**
+ * Verifies {@link AsyncSocialSecurityNumberFactory} expectations.
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+public class AsyncSocialSecurityNumberFactoryExpectations {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    /**
+     * Shuts the executor down after each test.
+     */
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Should bound the number of encryptions run at once.
+     *
+     * @throws Exception if any SSN could not be created
+     */
+    @Test
+    public void shouldBoundEncryptionsInFlight() throws Exception {
+
+        // Given async factory using delayed encryptor, ...
+        final DelayedEncryptor encryptor = new DelayedEncryptor(10);
+        final AsyncSocialSecurityNumberFactory factory = new AsyncSocialSecurityNumberFactory(
+            new SocialSecurityNumberFactory(encryptor), executor, 4, 0, TimeUnit.SECONDS);
+
+        // ... when we create many SSNs at once, ...
+        final List<CompletableFuture<SocialSecurityNumber>> ssns = new ArrayList<>();
+        for (int serial = 1000; serial < 1040; serial++) {
+            ssns.add(factory.createSocialSecurityNumber("123", "45", String.valueOf(serial)));
+        }
+
+        // ... then all of them should be created, but no more than allowed encryptions should be run at once.
+        for (int index = 0; index < ssns.size(); index++) {
+            assertEquals("SSN serial number differs.", String.valueOf(1000 + index),
+                factory.decrypt(ssns.get(index).get(5, TimeUnit.SECONDS)).get(5, TimeUnit.SECONDS).getSerialNumber());
+        }
+        assertTrue("Too many encryptions run at once.", encryptor.maxConcurrency.get() <= 4);
+    }
+
+    /**
+     * Should fail the operations not completed within the timeout.
+     *
+     * @throws InterruptedException if interrupted while waiting for the result
+     */
+    @Test
+    public void shouldTimeOutSlowEncryptions() throws InterruptedException {
+
+        // Given async factory using slow encryptor, and short timeout, ...
+        final AsyncSocialSecurityNumberFactory factory = new AsyncSocialSecurityNumberFactory(
+            new SocialSecurityNumberFactory(new DelayedEncryptor(1000)), executor, 1, 50, TimeUnit.MILLISECONDS);
+
+        // ... when we create SSN, then it should time out.
+        try {
+            factory.createSocialSecurityNumber("123", "45", "6789").get();
+            throw new AssertionError("SSN creation should time out.");
+        } catch (ExecutionException exception) {
+            assertTrue("Timeout should be reported.", exception.getCause() instanceof TimeoutException);
+        }
+    }
+
+    /**
+     * Should report invalid SSN components through the future.
+     *
+     * @throws InterruptedException if interrupted while waiting for the result
+     */
+    @Test
+    public void shouldFailOnInvalidComponents() throws InterruptedException {
+
+        // Given async factory, when we create SSN from invalid components, then the future should fail.
+        final AsyncSocialSecurityNumberFactory factory = new AsyncSocialSecurityNumberFactory(
+            new SocialSecurityNumberFactory(new PassThroughCryptographicService()), executor, 1, 0, TimeUnit.SECONDS);
+        try {
+            factory.createSocialSecurityNumber("12X", "45", "6789").get();
+            throw new AssertionError("SSN creation should fail.");
+        } catch (ExecutionException exception) {
+            assertTrue("Invalid components should be reported.",
+                exception.getCause() instanceof IllegalArgumentException);
+        }
+    }
+
+    /**
+     * Should run long queue of operations on the calling thread without growing the stack.
+     *
+     * @throws Exception if any SSN could not be created
+     */
+    @Test
+    public void shouldDrainQueueWithoutRecursionOnCallingThread() throws Exception {
+
+        // Given async factory running the operations on the calling thread, and encryptor queueing many more of
+        // them while the first one is in flight, ...
+        final List<CompletableFuture<SocialSecurityNumber>> ssns = new ArrayList<>();
+        final AsyncSocialSecurityNumberFactory[] factory = new AsyncSocialSecurityNumberFactory[1];
+        final PassThroughCryptographicService delegate = new PassThroughCryptographicService();
+        final CryptographicServiceSupport<String> encryptor = value -> {
+            if (ssns.isEmpty()) {
+                for (int index = 0; index < 100000; index++) {
+                    ssns.add(factory[0].createSocialSecurityNumber("123", "45", "6789"));
+                }
+            }
+            return delegate.encrypt(value);
+        };
+        factory[0] = new AsyncSocialSecurityNumberFactory(new SocialSecurityNumberFactory(encryptor), Runnable::run, 1,
+            0, TimeUnit.SECONDS);
+
+        // ... when we create SSN, ...
+        final CompletableFuture<SocialSecurityNumber> first = factory[0].createSocialSecurityNumber("987", "65",
+            "4321");
+
+        // ... then all the queued operations should be completed without overflowing the stack.
+        assertEquals("SSN serial number differs.", "4321", first.get().getSerialNumber());
+        assertEquals("All operations should be queued.", 100000, ssns.size());
+        assertTrue("All operations should be completed.", ssns.get(ssns.size() - 1).isDone());
+        assertEquals("No operation should be pending.", 0, factory[0].getPendingCount());
+    }
+
+    /**
+     * Should complete the future even if the operation raises {@link Error}.
+     *
+     * @throws InterruptedException if interrupted while waiting for the result
+     */
+    @Test
+    public void shouldFailOnErrors() throws InterruptedException {
+
+        // Given async factory using encryptor raising error, and no timeout, ...
+        final CryptographicServiceSupport<String> encryptor = value -> {
+            throw new AssertionError("Encryptor is broken.");
+        };
+        final AsyncSocialSecurityNumberFactory factory = new AsyncSocialSecurityNumberFactory(
+            new SocialSecurityNumberFactory(encryptor), executor, 1, 0, TimeUnit.SECONDS);
+
+        // ... when we create SSN, then the future should fail, and the operation should not stay in flight.
+        try {
+            factory.createSocialSecurityNumber("123", "45", "6789").get();
+            throw new IllegalStateException("SSN creation should fail.");
+        } catch (ExecutionException exception) {
+            assertTrue("Error should be reported.", exception.getCause() instanceof AssertionError);
+        }
+    }
+
+    /**
+     * Encryptor delaying each encryption, and recording the maximal number of concurrent encryptions.
+     */
+    private static final class DelayedEncryptor implements CryptographicServiceSupport<String> {
+
+        final AtomicInteger maxConcurrency = new AtomicInteger();
+
+        private final AtomicInteger concurrency = new AtomicInteger();
+
+        private final long delay;
+
+        private final PassThroughCryptographicService delegate = new PassThroughCryptographicService();
+
+        DelayedEncryptor(final long delay) {
+            this.delay = delay;
+        }
+
+        @Override
+        public DecryptableValue<String> encrypt(final String value) {
+            maxConcurrency.accumulateAndGet(concurrency.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrency.decrementAndGet();
+            }
+            return delegate.encrypt(value);
+        }
+
+    }
+
+}
@@ -0,0 +1,77 @@
+package pl.ais.commons.domain.ssn;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.nio.charset.StandardCharsets;
+
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.Test;
+
+import pl.ais.commons.domain.security.PassThroughCryptographicService;
+
+/**
+ * Verifies {@link SocialSecurityNumberBlindIndexer} expectations.
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@SuppressWarnings("static-method")
+public class SocialSecurityNumberBlindIndexerExpectations {
+
+    private static SocialSecurityNumberBlindIndexer indexer(final String key) {
+        return new SocialSecurityNumberBlindIndexer(new SecretKeySpec(key.getBytes(StandardCharsets.US_ASCII),
+            SocialSecurityNumberBlindIndexer.DEFAULT_ALGORITHM));
+    }
+
+    /**
+     * Should compute blind index of created SSNs, matching the one computed for the lookup.
+     */
+    @Test
+    public void shouldComputeBlindIndexOfCreatedSSNs() {
+
+        // Given SSN factory having blind indexer, ...
+        final SocialSecurityNumberBlindIndexer indexer = indexer("blind-index-key");
+        final SocialSecurityNumberFactory factory = SocialSecurityNumberFactory.builder(
+            new PassThroughCryptographicService()).indexer(indexer).build();
+
+        // ... when we create SSN, ...
+        final SocialSecurityNumber ssn = factory.createSocialSecurityNumber("123", "45", "6789");
+
+        // ... then its blind index should match the one computed for both of its representations.
+        assertEquals("Blind index differs.", indexer.indexOf("123456789"), ssn.getBlindIndex());
+        assertEquals("Blind index of formatted SSN differs.", indexer.indexOf("123-45-6789"), ssn.getBlindIndex());
+        assertEquals("HMAC-SHA256 digest should have 32 bytes.", 32, ssn.getBlindIndex().toByteArray().length);
+        assertEquals("Restored blind index differs.", ssn.getBlindIndex(),
+            BlindIndex.of(ssn.getBlindIndex().toByteArray()));
+        assertFalse("Blind index should depend on the SSN.", indexer.indexOf("123456780").equals(ssn.getBlindIndex()));
+        assertFalse("Blind index should depend on the key.",
+            indexer("other-key").indexOf("123456789").equals(ssn.getBlindIndex()));
+    }
+
+    /**
+     * Should not compute blind index if factory has no blind indexer.
+     */
+    @Test
+    public void shouldNotComputeBlindIndexWithoutIndexer() {
+
+        // Given SSN factory without blind indexer, when we create SSN, then it should have no blind index.
+        final SocialSecurityNumberFactory factory = new SocialSecurityNumberFactory(
+            new PassThroughCryptographicService());
+        assertNull("Blind index should not be computed.", factory.createSocialSecurityNumber("123", "45", "6789")
+            .getBlindIndex());
+    }
+
+    /**
+     * Should reject invalid SSN representation.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectInvalidRepresentation() {
+
+        // Given blind indexer, when we compute blind index of invalid SSN, then exception should be raised.
+        indexer("blind-index-key").indexOf("1234-5-6789");
+    }
+
+}
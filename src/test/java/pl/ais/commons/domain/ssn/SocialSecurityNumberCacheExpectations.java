@@ -0,0 +1,72 @@
+package pl.ais.commons.domain.ssn;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import pl.ais.commons.domain.security.DecryptableValue;
+
+/**
+ * Verifies {@link SocialSecurityNumberCache} expectations.
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@SuppressWarnings({"static-method", "unchecked"})
+public class SocialSecurityNumberCacheExpectations {
+
+    private static DecryptableValue<String> representation() {
+        final DecryptableValue<String> representation = mock(DecryptableValue.class);
+        when(representation.decrypt()).thenReturn("987654321");
+        return representation;
+    }
+
+    /**
+     * Verifies if SSNs sharing the same representation decrypt it only once.
+     */
+    @Test
+    public void shouldDecryptSharedRepresentationOnlyOnce() {
+
+        // Given SSN cache, and encrypted SSN representation, ...
+        final SocialSecurityNumberCache cache = new SocialSecurityNumberCache(16, 1, TimeUnit.MINUTES);
+        final DecryptableValue<String> representation = representation();
+
+        // ... when we access the parts of two SSNs sharing the same representation, ...
+        final SocialSecurityNumber first = new SocialSecurityNumber(representation, cache, null, 0);
+        final SocialSecurityNumber second = new SocialSecurityNumber(representation, cache, null, 0);
+        assertEquals("Area number of the first SSN is invalid.", "987", first.getAreaNumber());
+        assertEquals("Serial number of the second SSN is invalid.", "4321", second.getSerialNumber());
+
+        // ... then representation should be decrypted once, and cache should record the hit.
+        verify(representation, times(1)).decrypt();
+        assertEquals("Cache should record single hit.", 1, cache.stats().hitCount());
+    }
+
+    /**
+     * Verifies if invalidated SSNs are decrypted again.
+     */
+    @Test
+    public void shouldDecryptRepresentationAgainAfterInvalidation() {
+
+        // Given SSN cache holding decrypted SSN, ...
+        final SocialSecurityNumberCache cache = new SocialSecurityNumberCache(16, 1, TimeUnit.MINUTES);
+        final DecryptableValue<String> representation = representation();
+        new SocialSecurityNumber(representation, cache, null, 0).getGroupNumber();
+
+        // ... when we invalidate the cache, and access the parts of another SSN sharing the same representation, ...
+        cache.invalidateAll();
+        assertEquals("Cache should be empty after invalidation.", 0, cache.size());
+        assertEquals("Group number of the SSN is invalid.", "65",
+            new SocialSecurityNumber(representation, cache, null, 0).getGroupNumber());
+
+        // ... then representation should be decrypted again.
+        verify(representation, times(2)).decrypt();
+    }
+
+}
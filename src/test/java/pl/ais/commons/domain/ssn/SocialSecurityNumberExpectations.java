@@ -1,6 +1,7 @@
 package pl.ais.commons.domain.ssn;
 
 import static junit.framework.Assert.assertTrue;
+import static org.junit.Assert.assertEquals;
 import static org.springframework.util.SerializationUtils.deserialize;
 import static org.springframework.util.SerializationUtils.serialize;
 
@@ -39,6 +40,26 @@ public class SocialSecurityNumberExpectations {
             && ssn.equals(deserialized));
     }
 
+    /**
+     * Verifies if serial number projection of {@link SocialSecurityNumber} doesn't become part of its serialized form.
+     */
+    @Test
+    public void shouldNotSerializeSerialNumberProjection() {
+
+        // Given SSN created with serial number projection, ...
+        final SocialSecurityNumberFactory factory = SocialSecurityNumberFactory.builder(
+            new PassThroughCryptographicService()).projecting(true).build();
+        final SocialSecurityNumber ssn = factory.createSocialSecurityNumber("987", "65", "4321");
+
+        // ... when we serialize and deserialize it, ...
+        final SocialSecurityNumber deserialized = (SocialSecurityNumber) deserialize(serialize(ssn));
+
+        // ... then the projection should be available in-process only.
+        assertEquals("SSN should be masked.", "***-**-4321", ssn.toMaskedString());
+        assertEquals("Deserialized SSN should be fully masked.", "***-**-****", deserialized.toMaskedString());
+        assertEquals("Deserialized SSN should still be decryptable.", "4321", deserialized.getSerialNumber());
+    }
+
     /**
      * Verifies if each part of SSN is accessible.
      */
@@ -55,4 +76,14 @@ public class SocialSecurityNumberExpectations {
             "4321".equals(ssn.getSerialNumber()));
     }
 
+    /**
+     * Verifies if SSN having non-digit components is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNonDigitComponents() {
+
+        // Given SSN factory, when we create SSN having non-digit components, exception should be raised.
+        ssnFactory().createSocialSecurityNumber("98A", "65", "4321");
+    }
+
 }
@@ -0,0 +1,94 @@
+package pl.ais.commons.domain.ssn;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import pl.ais.commons.domain.security.CryptographicServiceSupport;
+import pl.ais.commons.domain.security.PassThroughCryptographicService;
+
+/**
+ * Verifies {@link SocialSecurityNumberFactory} expectations.
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@SuppressWarnings("static-method")
+public class SocialSecurityNumberFactoryExpectations {
+
+    /**
+     * Verifies if SSNs created in bulk report invalid rows, without aborting the whole batch.
+     *
+     * @throws InterruptedException if interrupted while waiting for the encryption to complete
+     */
+    @Test
+    public void shouldCreateSSNsInBulkReportingInvalidRows() throws InterruptedException {
+
+        // Given SSN factory, and executor, ...
+        final SocialSecurityNumberFactory factory = new SocialSecurityNumberFactory(
+            new PassThroughCryptographicService());
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+
+            // ... when we create SSNs in bulk, in chunks smaller than the batch, ...
+            final SocialSecurityNumberBatch batch = factory.createSocialSecurityNumbers(
+                Arrays.asList("987654321", "98765432", null, "123456789", "12345678A", "111223333"), executor, 2);
+
+            // ... then valid rows should hold appropriate SSNs, and invalid ones should be reported.
+            assertEquals("Batch size is invalid.", 6, batch.size());
+            assertArrayEquals("Invalid rows are reported incorrectly.", new int[] {1, 2, 4}, batch.getInvalidIndexes());
+            assertEquals("SSN created for the first row is invalid.", "4321", batch.get(0).getSerialNumber());
+            assertEquals("SSN created for the fourth row is invalid.", "123", batch.get(3).getAreaNumber());
+            assertEquals("SSN created for the last row is invalid.", "22", batch.get(5).getGroupNumber());
+            assertNull("No SSN should be created for invalid row.", batch.get(4));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Verifies if SSNs created in bulk report rows which failed to be encrypted, still encrypting the remaining ones.
+     *
+     * @throws InterruptedException if interrupted while waiting for the encryption to complete
+     */
+    @Test
+    public void shouldCreateSSNsInBulkReportingFailedRows() throws InterruptedException {
+
+        // Given SSN factory using encryptor failing for some values, and executor, ...
+        final PassThroughCryptographicService delegate = new PassThroughCryptographicService();
+        final CryptographicServiceSupport<String> encryptor = value -> {
+            if (value.startsWith("666")) {
+                throw new IllegalStateException("Key management service is unavailable.");
+            }
+            return delegate.encrypt(value);
+        };
+        final SocialSecurityNumberFactory factory = new SocialSecurityNumberFactory(encryptor);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+
+            // ... when we create SSNs in bulk from the stream, ...
+            final SocialSecurityNumberBatch batch = factory.createSocialSecurityNumbers(
+                Stream.of("987654321", "666123456", "12345678A", "123456789", "666654321"), executor, 2);
+
+            // ... then failed rows should be reported along with the failure, and the remaining ones encrypted.
+            assertArrayEquals("Invalid rows are reported incorrectly.", new int[] {2}, batch.getInvalidIndexes());
+            assertArrayEquals("Failed rows are reported incorrectly.", new int[] {1, 4}, batch.getFailedIndexes());
+            assertEquals("Failed rows are counted incorrectly.", 2, batch.getFailedCount());
+            assertTrue("Failure should be reported.", batch.getFailure(4) instanceof IllegalStateException);
+            assertNull("No failure should be reported for encrypted row.", batch.getFailure(3));
+            assertNull("No SSN should be created for failed row.", batch.get(1));
+            assertEquals("SSN created for the last valid row is invalid.", "6789", batch.get(3).getSerialNumber());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
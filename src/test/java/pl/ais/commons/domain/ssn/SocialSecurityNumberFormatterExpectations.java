@@ -2,14 +2,25 @@ package pl.ais.commons.domain.ssn;
 
 import static junit.framework.Assert.assertTrue;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
 import java.text.ParseException;
 import java.util.Locale;
 
 import org.junit.Test;
 
 import pl.ais.commons.domain.security.CryptographicServiceSupport;
+import pl.ais.commons.domain.security.DecryptableValue;
 import pl.ais.commons.domain.security.PassThroughCryptographicService;
 
 /**
@@ -43,6 +54,114 @@ public class SocialSecurityNumberFormatterExpectations {
         assertEquals("Should be able to format SSN as 00-0000000", "987-65-4321", convertedValue);
     }
 
+    /**
+     * Masked formatter should print SSN revealing its serial number projection, without decrypting it.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldPrintMaskedSSNWithoutDecryption() {
+
+        // Given SSN factory recording serial number projection, and masked SSN formatter, ...
+        final DecryptableValue<String> representation = mock(DecryptableValue.class);
+        final CryptographicServiceSupport<String> encryptor = mock(CryptographicServiceSupport.class);
+        when(encryptor.encrypt(anyString())).thenReturn(representation);
+        final SocialSecurityNumberFactory factory = SocialSecurityNumberFactory.builder(encryptor).projecting(true)
+            .build();
+        final SocialSecurityNumberFormatter formatter = new SocialSecurityNumberFormatter(factory, true);
+
+        // ... when we print SSNs created with and without the projection, ...
+        final String projected = formatter.print(factory.createSocialSecurityNumber("987", "65", "4321"), Locale.US);
+        final String unprojected = formatter.print(new SocialSecurityNumber(representation), Locale.US);
+
+        // ... then they should be masked, and never decrypted.
+        assertEquals("SSN should be masked.", "***-**-4321", projected);
+        assertEquals("SSN without projection should be fully masked.", "***-**-****", unprojected);
+        assertEquals("Projection should be disabled by default.", "***-**-****",
+            ssnFactory().createSocialSecurityNumber("987", "65", "4321").toMaskedString());
+        assertEquals("Projection should be used.", "***-**-0042",
+            new SocialSecurityNumber(representation, null, null, SocialSecurityNumber.project("123450042"))
+                .toMaskedString());
+        verify(representation, never()).decrypt();
+    }
+
+    /**
+     * Should print SSNs (plain and masked) directly into the caller-supplied buffer.
+     *
+     * @throws IOException in case of problems with writing into the buffer
+     */
+    @Test
+    public void shouldPrintSSNIntoBuffer() throws IOException {
+
+        // Given SSN factory recording serial number projection, ...
+        final SocialSecurityNumberFactory factory = SocialSecurityNumberFactory.builder(
+            new PassThroughCryptographicService()).projecting(true).build();
+        final SocialSecurityNumber ssn = factory.createSocialSecurityNumber("012", "05", "0009");
+
+        // ... when we print SSN into buffers, ...
+        final StringBuilder builder = ssn.printTo(new StringBuilder()).append(',');
+        new SocialSecurityNumberFormatter(factory, true).printTo(ssn, builder).append(',');
+        new SocialSecurityNumber(ssn.getRepresentation()).printMaskedTo(builder);
+        final StringWriter writer = new StringWriter();
+        new SocialSecurityNumberFormatter(factory).printTo(ssn, writer);
+
+        // ... then its representations should be appended.
+        assertEquals("SSN should be appended to the builder.", "012-05-0009,***-**-0009,***-**-****",
+            builder.toString());
+        assertEquals("SSN should be written to the writer.", "012-05-0009", writer.toString());
+    }
+
+    /**
+     * Should report SSNs rejected by the factory validator as invalid, without raising any exception when trying to
+     * parse them.
+     */
+    @Test
+    public void shouldRejectSSNsRejectedByFactoryValidator() {
+
+        // Given SSN formatter backed by the factory having strict validator, ...
+        final SocialSecurityNumberFactory factory = SocialSecurityNumberFactory.builder(
+            new PassThroughCryptographicService())
+            .validator(SocialSecurityNumberValidator.getInstance(SocialSecurityNumberValidator.Mode.STRICT)).build();
+        final SocialSecurityNumberFormatter formatter = new SocialSecurityNumberFormatter(factory);
+
+        // ... when we verify and try to parse SSNs rejected by the validator, ...
+        final boolean valid = formatter.isValid("000-12-3456");
+        final SocialSecurityNumber neverAssigned = formatter.tryParse("000-12-3456");
+        final SocialSecurityNumber reserved = formatter.tryParse(new StringBuilder("[666-12-3456]"), 1, 12);
+
+        // ... then they should be reported as invalid, while the valid ones should still be parsed.
+        assertFalse("SSN rejected by validator should be invalid.", valid);
+        assertNull("SSN having area 000 should not be parsed.", neverAssigned);
+        assertNull("SSN having area 666 should not be parsed.", reserved);
+        assertNull("Void SSN should not be created.", factory.tryCreateSocialSecurityNumber("078051120"));
+        assertNull("Null should not be created.", factory.tryCreateSocialSecurityNumber(null));
+        assertEquals("Valid SSN should be parsed.", "4321", formatter.tryParse("123-65-4321").getSerialNumber());
+        try {
+            formatter.parse("900-12-3456", Locale.US);
+            fail("SSN rejected by validator should not be parsed.");
+        } catch (ParseException exception) {
+            assertEquals("Error offset should be reported.", 0, exception.getErrorOffset());
+        }
+    }
+
+    /**
+     * Should parse SSN from the range of larger character sequence.
+     *
+     * @throws ParseException in case of problems with parsing SSN
+     */
+    @Test
+    public void shouldParseSSNFromTextRange() throws ParseException {
+
+        // Given SSN formatter, and CSV line held in character buffer, ...
+        final SocialSecurityNumberFormatter formatter = new SocialSecurityNumberFormatter(ssnFactory());
+        final CharBuffer line = CharBuffer.wrap("John,987-65-4321,123-45-678X");
+
+        // ... when we parse its fields, then SSN should be parsed properly, and invalid one should be reported.
+        assertEquals("SSN differs.", "987654321", formatter.parse(line, 5, 16).getRepresentation().decrypt());
+        assertTrue("SSN range should be valid.", formatter.isValid(line, 5, 16));
+        assertFalse("SSN range should be invalid.", formatter.isValid(line, 17, 28));
+        assertNull("Invalid SSN should not be parsed.", formatter.tryParse(line, 17, 28));
+    }
+
     /**
      * Should be able to parse {@link SocialSecurityNumber} from {@link String}.
      *
@@ -100,4 +219,39 @@ public class SocialSecurityNumberFormatterExpectations {
         assertNull("Should parse null into null", ssn);
     }
 
+    /**
+     * Should raise {@link ParseException} when parsing invalid SSN.
+     *
+     * @throws ParseException in case of problems with parsing SSN
+     */
+    @SuppressWarnings("unused")
+    @Test(expected = ParseException.class)
+    public void shouldRaiseExceptionWhenParsingInvalidSSN() throws ParseException {
+
+        // Given SSN formatter, ...
+        final SocialSecurityNumberFormatter formatter = new SocialSecurityNumberFormatter(ssnFactory());
+
+        // ... when we use formatter to parse invalid String, ...
+        final SocialSecurityNumber ssn = formatter.parse("987-654321", Locale.US);
+
+        // ... exception should be raised.
+    }
+
+    /**
+     * Should verify and parse SSN without raising any exception.
+     */
+    @Test
+    public void shouldVerifyAndTryParseWithoutException() {
+
+        // Given SSN formatter, ...
+        final SocialSecurityNumberFormatter formatter = new SocialSecurityNumberFormatter(ssnFactory());
+
+        // ... when we verify and try to parse valid and invalid text, then neither should raise exception.
+        assertTrue("Valid SSN should be recognized.", formatter.isValid(new StringBuilder("987-65-4321")));
+        assertFalse("Invalid SSN should be recognized.", formatter.isValid("987-65-432A"));
+        assertEquals("Should be able to parse SSN.", "4321", formatter.tryParse("987-65-4321").getSerialNumber());
+        assertNull("Should parse invalid SSN into null.", formatter.tryParse("987654321"));
+        assertNull("Should parse null into null.", formatter.tryParse(null));
+    }
+
 }
@@ -0,0 +1,71 @@
+package pl.ais.commons.domain.ssn;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import pl.ais.commons.domain.security.PassThroughCryptographicService;
+import pl.ais.commons.domain.ssn.SocialSecurityNumberValidator.Mode;
+
+/**
+ * Verifies {@link SocialSecurityNumberValidator} expectations.
+ *
+ * @author Warlock, AIS.PL
+ * @since 1.0.2
+ */
+@SuppressWarnings("static-method")
+public class SocialSecurityNumberValidatorExpectations {
+
+    /**
+     * Lenient validator should reject SSNs which are never assigned.
+     */
+    @Test
+    public void lenientValidatorShouldRejectNeverAssignedSSNs() {
+
+        // Given lenient validator, ...
+        final SocialSecurityNumberValidator validator = SocialSecurityNumberValidator.getInstance(Mode.LENIENT);
+
+        // ... when we validate SSNs, then never assigned ones should be rejected.
+        assertTrue("Valid SSN should be accepted.", validator.isValid("123-45-6789"));
+        assertTrue("Valid SSN should be accepted.", validator.isValid(new StringBuilder("123456789")));
+        assertTrue("Area number 899 should be accepted.", validator.isValid("899654321"));
+        assertFalse("Area number 9xx should be rejected.", validator.isValid("900654321"));
+        assertFalse("Area number 9xx should be rejected.", validator.isValid("999-65-4321"));
+        assertFalse("Area number 000 should be rejected.", validator.isValid("000-45-6789"));
+        assertFalse("Area number 666 should be rejected.", validator.isValid("666456789"));
+        assertFalse("Group number 00 should be rejected.", validator.isValid("123-00-6789"));
+        assertFalse("Serial number 0000 should be rejected.", validator.isValid("123450000"));
+        assertFalse("Malformed SSN should be rejected.", validator.isValid("123-456789"));
+        assertFalse("Null should be rejected.", validator.isValid(null));
+    }
+
+    /**
+     * Factory should reject SSNs not conforming to the SSA rules before encrypting them.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void factoryShouldRejectInvalidSSNs() {
+        SocialSecurityNumberFactory.builder(new PassThroughCryptographicService())
+            .validator(SocialSecurityNumberValidator.getInstance(Mode.LENIENT)).build()
+            .createSocialSecurityNumber("666", "45", "6789");
+    }
+
+    /**
+     * Strict validator should also reject SSNs known to be void.
+     */
+    @Test
+    public void strictValidatorShouldRejectReservedAndVoidSSNs() {
+
+        // Given strict validator, ...
+        final SocialSecurityNumberValidator validator = SocialSecurityNumberValidator.getInstance(Mode.STRICT);
+
+        // ... when we validate SSNs, then never assigned and void ones should be rejected.
+        assertTrue("Valid SSN should be accepted.", validator.isValid("899-45-6789"));
+        assertFalse("Area number 9xx should be rejected.", validator.isValid("900-45-6789"));
+        assertFalse("Advertising SSN should be rejected.", validator.isValid("987-65-4320"));
+        assertFalse("Void SSN should be rejected.", validator.isValid("078-05-1120"));
+        assertFalse("Void SSN should be rejected.", validator.isValid("219099999"));
+        assertFalse("Area number 666 should be rejected.", validator.isValid("666-45-6789"));
+    }
+
+}